@@ -0,0 +1,338 @@
+package jak0bw.daggercrafting.gametest;
+
+import com.mojang.authlib.GameProfile;
+import jak0bw.daggercrafting.ModItems;
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import jak0bw.daggercrafting.item.DaggerItem;
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.block.Blocks;
+import net.minecraft.enchantment.Enchantments;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.SpawnReason;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.entity.projectile.PersistentProjectileEntity;
+import net.minecraft.entity.projectile.ProjectileEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Headless load scenarios for thrown daggers, run with {@code ./gradlew runDaggerLoadTest}.
+ *
+ * Each scenario runs in its own batch, so scenarios are measured one at a time: it builds its setup, runs
+ * {@link #WARMUP_TICKS} ticks of load unmeasured, then {@link #MEASURE_TICKS} measured ticks, and finally removes
+ * everything it spawned. Daggers are thrown the way the game throws them, through
+ * {@link DaggerEntity#spawnWithVelocity} for fake players and {@link DaggerItem#createEntity} for dispensed ones.
+ * The load of every scenario can be scaled with {@code -Ddaggercrafting.loadtest.scale}.
+ */
+public class DaggerLoadTest implements FabricGameTest {
+    private static final int WARMUP_TICKS = 100;
+    private static final int MEASURE_TICKS = 400;
+    private static final int TICK_LIMIT = WARMUP_TICKS + MEASURE_TICKS + 20;
+    private static final double SCALE = Double.parseDouble(System.getProperty("daggercrafting.loadtest.scale", "1.0"));
+
+    private static final int THROWING_PLAYERS = scaled(16);
+    private static final int LOYALTY_PLAYERS = scaled(8);
+    private static final int RAIN_GRID_SIZE = 8;
+    private static final int RAIN_DAGGERS_PER_TICK = scaled(16);
+    private static final int GROUNDED_CHUNKS = 4;
+    private static final int GROUNDED_DAGGERS_PER_CHUNK = scaled(32);
+    private static final int NBT_DAGGERS = scaled(256);
+
+    public DaggerLoadTest() {
+        LoadTestRecorder.register();
+    }
+
+    /**
+     * Fake players spread in a circle each throw an iron dagger outwards every tick.
+     */
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "dagger_load_fake_players", tickLimit = TICK_LIMIT)
+    public void fakePlayersThrowing(TestContext context) {
+        Scenario scenario = new Scenario(context, "fake_players_throwing", 2);
+        ServerWorld world = context.getWorld();
+        ItemStack stack = new ItemStack(ModItems.DAGGER_ITEMS.get("iron_dagger"));
+        List<FakePlayer> players = scenario.createPlayers(THROWING_PLAYERS);
+        Random random = world.getRandom();
+        scenario.run(tick -> {
+            for (FakePlayer player : players) {
+                player.setPitch(-10.0F - random.nextFloat() * 20.0F);
+                scenario.track(DaggerEntity.spawnWithVelocity(DaggerEntity::new, world, stack, player, 0.0F, 1.8F, 1.0F));
+            }
+        });
+    }
+
+    /**
+     * Fake players throw Loyalty III daggers into the ground around them, which keep coming back to them.
+     * Fake players don't tick, so they never pick the daggers up and the returning daggers keep hovering at them.
+     */
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "dagger_load_loyalty", tickLimit = TICK_LIMIT)
+    public void loyaltyReturnStorm(TestContext context) {
+        Scenario scenario = new Scenario(context, "loyalty_return_storm", 2);
+        ServerWorld world = context.getWorld();
+        scenario.buildFloor(16);
+        ItemStack stack = new ItemStack(ModItems.DAGGER_ITEMS.get("diamond_dagger"));
+        stack.addEnchantment(world.getRegistryManager().getOrThrow(RegistryKeys.ENCHANTMENT).getOrThrow(Enchantments.LOYALTY), 3);
+        List<FakePlayer> players = scenario.createPlayers(LOYALTY_PLAYERS);
+        scenario.run(tick -> {
+            // Every player throws once every 5 ticks, staggered, so returns keep overlapping with new throws
+            for (int i = tick % 5; i < players.size(); i += 5) {
+                FakePlayer player = players.get(i);
+                player.setPitch(45.0F);
+                scenario.track(DaggerEntity.spawnWithVelocity(DaggerEntity::new, world, stack, player, 0.0F, 2.0F, 1.0F));
+            }
+        });
+    }
+
+    /**
+     * Daggers rain down on a grid of mobs without AI, as if dropped from dispensers above them.
+     */
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "dagger_load_mob_rain", tickLimit = TICK_LIMIT)
+    public void daggersRainingOnMobs(TestContext context) {
+        Scenario scenario = new Scenario(context, "daggers_raining_on_mobs", 1);
+        ServerWorld world = context.getWorld();
+        scenario.buildFloor(RAIN_GRID_SIZE);
+        for (int x = 0; x < RAIN_GRID_SIZE; x++) {
+            for (int z = 0; z < RAIN_GRID_SIZE; z++) {
+                MobEntity mob = EntityType.HUSK.create(world, SpawnReason.COMMAND);
+                if (mob != null) {
+                    Vec3d pos = scenario.relative(x * 2 - RAIN_GRID_SIZE + 0.5, 1.0, z * 2 - RAIN_GRID_SIZE + 0.5);
+                    mob.refreshPositionAndAngles(pos.x, pos.y, pos.z, 0.0F, 0.0F);
+                    mob.setAiDisabled(true);
+                    mob.setInvulnerable(true);
+                    world.spawnEntity(mob);
+                    scenario.track(mob);
+                }
+            }
+        }
+        ItemStack stack = new ItemStack(ModItems.DAGGER_ITEMS.get("stone_dagger"));
+        DaggerItem item = (DaggerItem) stack.getItem();
+        Random random = world.getRandom();
+        scenario.run(tick -> {
+            for (int i = 0; i < RAIN_DAGGERS_PER_TICK; i++) {
+                Vec3d pos = scenario.relative((random.nextDouble() - 0.5) * RAIN_GRID_SIZE * 2, 12.0, (random.nextDouble() - 0.5) * RAIN_GRID_SIZE * 2);
+                ProjectileEntity dagger = item.createEntity(world, pos, stack, Direction.DOWN);
+                dagger.setVelocity(0.0, -1.0, 0.0, 1.6F, 2.0F);
+                world.spawnEntity(dagger);
+                scenario.track(dagger);
+            }
+        });
+    }
+
+    /**
+     * Chunks filled up to the grounded population cap with daggers stuck in the floor, and no player near.
+     * Measures what idle grounded daggers cost, including dormancy.
+     */
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "dagger_load_grounded", tickLimit = TICK_LIMIT)
+    public void chunksFullOfGroundedDaggers(TestContext context) {
+        Scenario scenario = new Scenario(context, "chunks_full_of_grounded_daggers", 1);
+        ServerWorld world = context.getWorld();
+        int halfSize = GROUNDED_CHUNKS / 2 * 16;
+        scenario.buildFloor(halfSize);
+        ItemStack stack = new ItemStack(ModItems.DAGGER_ITEMS.get("wooden_dagger"));
+        DaggerItem item = (DaggerItem) stack.getItem();
+        Random random = world.getRandom();
+        for (int i = 0; i < GROUNDED_CHUNKS * GROUNDED_CHUNKS * GROUNDED_DAGGERS_PER_CHUNK; i++) {
+            Vec3d pos = scenario.relative((random.nextDouble() - 0.5) * halfSize * 2, 1.5, (random.nextDouble() - 0.5) * halfSize * 2);
+            ProjectileEntity dagger = item.createEntity(world, pos, stack, Direction.DOWN);
+            dagger.setVelocity(0.0, -1.0, 0.0);
+            world.spawnEntity(dagger);
+            scenario.track(dagger);
+        }
+        scenario.run(tick -> {
+        });
+    }
+
+    /**
+     * Daggers are saved and loaded back into new entities every tick, the way chunks save and load them.
+     * Measures the dagger's own NBT handling, including encoding and decoding the enchantments of its stack.
+     */
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "dagger_load_nbt", tickLimit = TICK_LIMIT)
+    public void daggerNbtRoundTrip(TestContext context) {
+        Scenario scenario = new Scenario(context, "dagger_nbt_round_trip", 0);
+        ServerWorld world = context.getWorld();
+        List<DaggerEntity> daggers = createSavedDaggers(scenario, world);
+        scenario.run(tick -> {
+            for (DaggerEntity dagger : daggers) {
+                NbtCompound nbt = new NbtCompound();
+                dagger.saveNbt(nbt);
+                EntityType.getEntityFromNbt(nbt, world, SpawnReason.LOAD);
+            }
+        });
+    }
+
+    /**
+     * Daggers saved in the format from before the compact one, with the full stack and no version, are loaded
+     * into new entities every tick. Measures upgrading old worlds, which decodes the full stack and recomputes
+     * Loyalty from its enchantments.
+     */
+    @GameTest(templateName = EMPTY_STRUCTURE, batchId = "dagger_load_legacy_nbt", tickLimit = TICK_LIMIT)
+    public void legacyDaggerNbtLoad(TestContext context) {
+        Scenario scenario = new Scenario(context, "legacy_dagger_nbt_load", 0);
+        ServerWorld world = context.getWorld();
+        List<NbtCompound> saved = new ArrayList<>();
+        for (DaggerEntity dagger : createSavedDaggers(scenario, world)) {
+            NbtCompound nbt = new NbtCompound();
+            dagger.saveNbt(nbt);
+            nbt.remove("DaggerVersion");
+            nbt.remove("DaggerFlags");
+            nbt.remove("Loyalty");
+            nbt.remove("ItemDamage");
+            nbt.remove("ItemEnchantments");
+            nbt.put("item", dagger.getItemStack().toNbt(world.getRegistryManager()));
+            nbt.putString("SoundEvent", "minecraft:item.trident.hit_ground");
+            nbt.putBoolean("DealtDamage", false);
+            saved.add(nbt);
+        }
+        scenario.run(tick -> {
+            for (NbtCompound nbt : saved) {
+                EntityType.getEntityFromNbt(nbt, world, SpawnReason.LOAD);
+            }
+        });
+    }
+
+    /**
+     * Creates daggers that are not added to the world. A quarter carry the default stack, the others a damaged
+     * one, and a third of those also have Loyalty III.
+     */
+    private static List<DaggerEntity> createSavedDaggers(Scenario scenario, ServerWorld world) {
+        Random random = world.getRandom();
+        List<DaggerEntity> daggers = new ArrayList<>(NBT_DAGGERS);
+        for (int i = 0; i < NBT_DAGGERS; i++) {
+            ItemStack stack = new ItemStack(ModItems.DAGGER_ITEMS.get("iron_dagger"));
+            if (i % 4 != 0) {
+                stack.setDamage(1 + random.nextInt(99));
+            }
+            if (i % 4 == 3) {
+                stack.addEnchantment(world.getRegistryManager().getOrThrow(RegistryKeys.ENCHANTMENT).getOrThrow(Enchantments.LOYALTY), 3);
+            }
+            Vec3d pos = scenario.relative(random.nextDouble() * 16.0 - 8.0, 1.0, random.nextDouble() * 16.0 - 8.0);
+            daggers.add(new DaggerEntity(world, pos.x, pos.y, pos.z, stack));
+        }
+        return daggers;
+    }
+
+    private static int scaled(int count) {
+        return Math.max(1, (int) Math.round(count * SCALE));
+    }
+
+    /**
+     * The shared setup, timeline and cleanup of a scenario.
+     */
+    private static final class Scenario {
+        private final TestContext context;
+        private final String name;
+        private final Vec3d origin;
+        private final List<ChunkPos> forcedChunks = new ArrayList<>();
+        private final List<BlockPos> floor = new ArrayList<>();
+        private final List<Entity> spawned = new ArrayList<>();
+
+        /**
+         * @param chunkRadius Radius in chunks around the test origin that is kept loaded and ticking, since no
+         *                    player is there to do it.
+         */
+        Scenario(TestContext context, String name, int chunkRadius) {
+            this.context = context;
+            this.name = name;
+            this.origin = Vec3d.ofBottomCenter(context.getAbsolutePos(BlockPos.ORIGIN));
+            ChunkPos center = new ChunkPos(BlockPos.ofFloored(this.origin));
+            for (int x = -chunkRadius; x <= chunkRadius; x++) {
+                for (int z = -chunkRadius; z <= chunkRadius; z++) {
+                    ChunkPos chunk = new ChunkPos(center.x + x, center.z + z);
+                    context.getWorld().setChunkForced(chunk.x, chunk.z, true);
+                    this.forcedChunks.add(chunk);
+                }
+            }
+        }
+
+        Vec3d relative(double x, double y, double z) {
+            return this.origin.add(x, y, z);
+        }
+
+        /**
+         * Lays a stone floor one block below the test origin, reaching {@code halfSize} blocks in each direction.
+         */
+        void buildFloor(int halfSize) {
+            BlockPos center = BlockPos.ofFloored(this.origin).down();
+            for (BlockPos pos : BlockPos.iterate(center.add(-halfSize, 0, -halfSize), center.add(halfSize, 0, halfSize))) {
+                if (this.context.getWorld().getBlockState(pos).isAir()) {
+                    this.context.getWorld().setBlockState(pos, Blocks.STONE.getDefaultState());
+                    this.floor.add(pos.toImmutable());
+                }
+            }
+        }
+
+        /**
+         * Creates fake players in a circle around the test origin, each looking outwards.
+         */
+        List<FakePlayer> createPlayers(int count) {
+            List<FakePlayer> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String playerName = "dagger_load_" + i;
+                FakePlayer player = FakePlayer.get(this.context.getWorld(),
+                    new GameProfile(UUID.nameUUIDFromBytes(playerName.getBytes()), playerName));
+                float yaw = 360.0F * i / count;
+                double radians = Math.toRadians(yaw);
+                Vec3d pos = this.relative(-Math.sin(radians) * 4.0, 0.0, Math.cos(radians) * 4.0);
+                player.refreshPositionAndAngles(pos.x, pos.y, pos.z, yaw, 0.0F);
+                players.add(player);
+            }
+            return players;
+        }
+
+        void track(Entity entity) {
+            if (entity instanceof PersistentProjectileEntity projectile) {
+                // Keep the load in the world instead of in players' inventories or as dropped items
+                projectile.pickupType = PersistentProjectileEntity.PickupPermission.DISALLOWED;
+            }
+            this.spawned.add(entity);
+        }
+
+        /**
+         * Runs {@code load} every tick through warmup and measurement, then records the results and cleans up.
+         */
+        void run(TickAction load) {
+            for (int tick = 0; tick < WARMUP_TICKS + MEASURE_TICKS; tick++) {
+                int currentTick = tick;
+                this.context.runAtTick(tick, () -> load.run(currentTick));
+            }
+            this.context.runAtTick(WARMUP_TICKS, () -> LoadTestRecorder.start(this.name));
+            this.context.runAtTick(WARMUP_TICKS + MEASURE_TICKS, () -> {
+                LoadTestRecorder.stop();
+                this.cleanUp();
+                this.context.complete();
+            });
+        }
+
+        private void cleanUp() {
+            ServerWorld world = this.context.getWorld();
+            for (Entity entity : this.spawned) {
+                entity.discard();
+            }
+            for (BlockPos pos : this.floor) {
+                world.setBlockState(pos, Blocks.AIR.getDefaultState());
+            }
+            for (ChunkPos chunk : this.forcedChunks) {
+                world.setChunkForced(chunk.x, chunk.z, false);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TickAction {
+        void run(int tick);
+    }
+}
@@ -0,0 +1,174 @@
+package jak0bw.daggercrafting.gametest;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.entity.DaggerDormancy;
+import jak0bw.daggercrafting.network.DaggerSyncPolicy;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records server tick times, entity counts, forced dagger sync packets and server thread allocations while a load scenario
+ * is measured, and writes the results of all scenarios run so far to a JSON file.
+ *
+ * Scenarios are run in separate gametest batches, so only one is measured at a time. The tick time includes
+ * everything the server does in that tick, so the numbers are only comparable between runs on the same machine.
+ * All methods are called from the server thread only.
+ */
+final class LoadTestRecorder {
+    private static final String OUTPUT_PROPERTY = "daggercrafting.loadtest.output";
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final List<LoadTestResult> results = new ArrayList<>();
+    private static boolean registered;
+
+    private static String scenario;
+    private static final LongArrayList tickNanos = new LongArrayList();
+    private static long tickStart;
+    private static long entities;
+    private static long daggersTicked;
+    private static long dormantDaggers;
+    private static long packetsAtStart;
+    private static long allocatedAtStart;
+
+    private LoadTestRecorder() {
+    }
+
+    /**
+     * Registers the tick hooks, once.
+     */
+    static void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        ServerTickEvents.START_SERVER_TICK.register(server -> {
+            if (scenario == null) {
+                return;
+            }
+            // The dormancy counters of the previous tick were just rolled over
+            if (!tickNanos.isEmpty()) {
+                daggersTicked += DaggerDormancy.getActiveCount() + DaggerDormancy.getDormantCount();
+                dormantDaggers += DaggerDormancy.getDormantCount();
+            }
+            tickStart = System.nanoTime();
+        });
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (scenario == null || tickStart == 0L) {
+                return;
+            }
+            tickNanos.add(System.nanoTime() - tickStart);
+            entities += countEntities(server);
+        });
+    }
+
+    /**
+     * Starts measuring a scenario from the next server tick.
+     */
+    static void start(String name) {
+        scenario = name;
+        tickNanos.clear();
+        tickStart = 0L;
+        entities = 0L;
+        daggersTicked = 0L;
+        dormantDaggers = 0L;
+        packetsAtStart = DaggerSyncPolicy.getPacketsSent();
+        allocatedAtStart = THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    /**
+     * Stops measuring the current scenario, and writes its results along with those of earlier scenarios.
+     */
+    static LoadTestResult stop() {
+        long allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId()) - allocatedAtStart;
+        int ticks = tickNanos.size();
+        long[] sorted = tickNanos.toLongArray();
+        Arrays.sort(sorted);
+        long totalNanos = 0L;
+        for (long nanos : sorted) {
+            totalNanos += nanos;
+        }
+        LoadTestResult result = new LoadTestResult(
+            scenario,
+            ticks,
+            ticks == 0 ? 0.0 : totalNanos / 1.0e6 / ticks,
+            percentile(sorted, 0.50),
+            percentile(sorted, 0.95),
+            percentile(sorted, 0.99),
+            percentile(sorted, 1.0),
+            ticks == 0 ? 0.0 : (double) entities / ticks,
+            ticks <= 1 ? 0.0 : (double) daggersTicked / (ticks - 1),
+            ticks <= 1 ? 0.0 : (double) dormantDaggers / (ticks - 1),
+            DaggerSyncPolicy.getPacketsSent() - packetsAtStart,
+            ticks == 0 ? 0.0 : (double) allocated / ticks
+        );
+        scenario = null;
+        results.add(result);
+        DaggerCrafting.LOGGER.info("Load test {}", result);
+        write();
+        return result;
+    }
+
+    /**
+     * @return The nearest-rank percentile of the sorted tick times, in milliseconds.
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1.0e6;
+    }
+
+    private static long countEntities(MinecraftServer server) {
+        long count = 0L;
+        for (ServerWorld world : server.getWorlds()) {
+            for (Entity ignored : world.iterateEntities()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void write() {
+        Path output = Path.of(System.getProperty(OUTPUT_PROPERTY, "loadtest-results.json"));
+        JsonObject json = new JsonObject();
+        json.addProperty("minecraftVersion", SharedConstants.getGameVersion().getName());
+        json.addProperty("modVersion", FabricLoader.getInstance().getModContainer(DaggerCrafting.MOD_ID)
+            .map(container -> container.getMetadata().getVersion().getFriendlyString())
+            .orElse("unknown"));
+        json.addProperty("javaVersion", Runtime.version().toString());
+        json.addProperty("availableProcessors", Runtime.getRuntime().availableProcessors());
+        JsonArray scenarios = new JsonArray();
+        for (LoadTestResult result : results) {
+            scenarios.add(result.toJson());
+        }
+        json.add("scenarios", scenarios);
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(output)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(json, writer);
+            }
+        } catch (IOException e) {
+            DaggerCrafting.LOGGER.error("Failed to write load test results to {}", output, e);
+        }
+    }
+}
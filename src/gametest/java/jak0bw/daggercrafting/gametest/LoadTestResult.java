@@ -0,0 +1,52 @@
+package jak0bw.daggercrafting.gametest;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Measurements of one load scenario.
+ *
+ * @param scenario The scenario name.
+ * @param ticks The number of measured server ticks.
+ * @param msptMean Mean milliseconds per server tick.
+ * @param msptP50 Median milliseconds per server tick.
+ * @param msptP95 95th percentile milliseconds per server tick.
+ * @param msptP99 99th percentile milliseconds per server tick.
+ * @param msptMax Slowest server tick in milliseconds.
+ * @param entitiesPerTick Mean number of entities in all worlds per tick.
+ * @param daggersTickedPerTick Mean number of daggers ticked per tick, active and dormant.
+ * @param dormantDaggersPerTick Mean number of dormant daggers ticked per tick.
+ * @param forcedSyncPackets Extra dagger update packets forced by the sync policy during the scenario. Spawn,
+ *                          regular tracker and trajectory packets are not included.
+ * @param allocatedBytesPerTick Mean bytes allocated by the server thread per measured tick.
+ */
+public record LoadTestResult(
+    String scenario,
+    int ticks,
+    double msptMean,
+    double msptP50,
+    double msptP95,
+    double msptP99,
+    double msptMax,
+    double entitiesPerTick,
+    double daggersTickedPerTick,
+    double dormantDaggersPerTick,
+    long forcedSyncPackets,
+    double allocatedBytesPerTick
+) {
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("scenario", this.scenario);
+        json.addProperty("ticks", this.ticks);
+        json.addProperty("msptMean", this.msptMean);
+        json.addProperty("msptP50", this.msptP50);
+        json.addProperty("msptP95", this.msptP95);
+        json.addProperty("msptP99", this.msptP99);
+        json.addProperty("msptMax", this.msptMax);
+        json.addProperty("entitiesPerTick", this.entitiesPerTick);
+        json.addProperty("daggersTickedPerTick", this.daggersTickedPerTick);
+        json.addProperty("dormantDaggersPerTick", this.dormantDaggersPerTick);
+        json.addProperty("forcedSyncPackets", this.forcedSyncPackets);
+        json.addProperty("allocatedBytesPerTick", this.allocatedBytesPerTick);
+        return json;
+    }
+}
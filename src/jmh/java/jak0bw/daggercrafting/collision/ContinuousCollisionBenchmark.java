@@ -0,0 +1,107 @@
+package jak0bw.daggercrafting.collision;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the entity candidate lookup of one lone fast dagger for one tick: the vanilla swept box lookup in
+ * the world's entity sections, building a {@link SpatialGrid} of every entity in the world and querying it, and
+ * looking up the path piece by piece as {@link DaggerCollisionBroadPhase} does, without stopping at a hit.
+ * Entities are mob sized and spread over a 512 by 64 by 512 block area, roughly a populated world around a few
+ * players; the dagger flies at the given speed in blocks per tick, mostly horizontally.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContinuousCollisionBenchmark {
+    private static final double AREA = 512.0;
+    private static final double HEIGHT = 64.0;
+    private static final int PATHS = 64;
+    private static final double PIECE_LENGTH = 8.0;
+    private static final double PADDING = 0.8;
+
+    @Param({"4", "16", "64"})
+    public double speed;
+
+    @Param({"1000", "5000"})
+    public int entities;
+
+    private final SectionedBoxes sections = new SectionedBoxes();
+    private final SpatialGrid<double[]> grid = new SpatialGrid<>(4.0);
+    private final IntArrayList candidates = new IntArrayList();
+    private double[][] entityBoxes;
+    private double[][] paths;
+    private int path;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.entityBoxes = new double[this.entities][];
+        for (int i = 0; i < this.entities; i++) {
+            double x = random.nextDouble() * AREA;
+            double y = random.nextDouble() * HEIGHT;
+            double z = random.nextDouble() * AREA;
+            this.entityBoxes[i] = new double[] {x, y, z, x + 0.6, y + 1.8, z + 0.6};
+            this.sections.add(this.entityBoxes[i]);
+        }
+        this.paths = new double[PATHS][];
+        double step = this.speed / Math.sqrt(2.0625);
+        for (int i = 0; i < PATHS; i++) {
+            double x = random.nextDouble() * (AREA - this.speed);
+            double y = random.nextDouble() * HEIGHT;
+            double z = random.nextDouble() * (AREA - this.speed);
+            this.paths[i] = new double[] {x, y, z, x + step, y + step * 0.25, z + step};
+        }
+    }
+
+    private double[] nextPath() {
+        this.path = (this.path + 1) % PATHS;
+        return this.paths[this.path];
+    }
+
+    @Benchmark
+    public int sweptBox() {
+        double[] path = this.nextPath();
+        return this.sections.getIntersecting(Math.min(path[0], path[3]) - 1.25, Math.min(path[1], path[4]) - 1.25, Math.min(path[2], path[5]) - 1.25,
+            Math.max(path[0], path[3]) + 1.25, Math.max(path[1], path[4]) + 1.25, Math.max(path[2], path[5]) + 1.25).size();
+    }
+
+    @Benchmark
+    public int gridOfWorld() {
+        double[] path = this.nextPath();
+        SpatialGrid<double[]> grid = this.grid;
+        grid.clear();
+        for (double[] entity : this.entityBoxes) {
+            grid.insert(entity, entity[0] - 1.0, entity[1] - 1.0, entity[2] - 1.0, entity[3] + 1.0, entity[4] + 1.0, entity[5] + 1.0);
+        }
+        grid.query(Math.min(path[0], path[3]) - 1.25, Math.min(path[1], path[4]) - 1.25, Math.min(path[2], path[5]) - 1.25,
+            Math.max(path[0], path[3]) + 1.25, Math.max(path[1], path[4]) + 1.25, Math.max(path[2], path[5]) + 1.25, this.candidates);
+        return this.candidates.size();
+    }
+
+    @Benchmark
+    public int pieces() {
+        double[] path = this.nextPath();
+        double deltaX = path[3] - path[0], deltaY = path[4] - path[1], deltaZ = path[5] - path[2];
+        int pieces = Math.max(1, (int) Math.ceil(Math.sqrt(deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ) / PIECE_LENGTH));
+        int found = 0;
+        for (int piece = 0; piece < pieces; piece++) {
+            double start = (double) piece / pieces, end = (double) (piece + 1) / pieces;
+            double fromX = path[0] + deltaX * start, fromY = path[1] + deltaY * start, fromZ = path[2] + deltaZ * start;
+            double toX = path[0] + deltaX * end, toY = path[1] + deltaY * end, toZ = path[2] + deltaZ * end;
+            found += this.sections.getIntersecting(Math.min(fromX, toX) - PADDING, Math.min(fromY, toY) - PADDING, Math.min(fromZ, toZ) - PADDING,
+                Math.max(fromX, toX) + PADDING, Math.max(fromY, toY) + PADDING, Math.max(fromZ, toZ) + PADDING).size();
+        }
+        return found;
+    }
+}
@@ -0,0 +1,58 @@
+package jak0bw.daggercrafting.collision;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for the world's sectioned entity lookup in the collision benchmarks. Boxes are bucketed by the
+ * 16 block section their bottom center is in, and a lookup visits every section within 2 blocks of the given
+ * box and returns the intersecting boxes in a new list, the way {@code World#getOtherEntities} does.
+ */
+final class SectionedBoxes {
+    private static final int COORDINATE_BITS = 21;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+    private final Long2ObjectOpenHashMap<List<double[]>> sections = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Adds a box given as {minX, minY, minZ, maxX, maxY, maxZ}.
+     */
+    void add(double[] box) {
+        long key = key(section((box[0] + box[3]) * 0.5), section(box[1]), section((box[2] + box[5]) * 0.5));
+        this.sections.computeIfAbsent(key, k -> new ArrayList<>()).add(box);
+    }
+
+    /**
+     * @return The boxes intersecting the given box.
+     */
+    List<double[]> getIntersecting(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        List<double[]> found = new ArrayList<>();
+        int maxSectionX = section(maxX + 2.0), maxSectionY = section(maxY + 2.0), maxSectionZ = section(maxZ + 2.0);
+        for (int x = section(minX - 2.0); x <= maxSectionX; x++) {
+            for (int y = section(minY - 2.0); y <= maxSectionY; y++) {
+                for (int z = section(minZ - 2.0); z <= maxSectionZ; z++) {
+                    List<double[]> boxes = this.sections.get(key(x, y, z));
+                    if (boxes == null) {
+                        continue;
+                    }
+                    for (double[] box : boxes) {
+                        if (box[0] < maxX && box[3] > minX && box[1] < maxY && box[4] > minY && box[2] < maxZ && box[5] > minZ) {
+                            found.add(box);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int section(double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((x & COORDINATE_MASK) << (2 * COORDINATE_BITS)) | ((y & COORDINATE_MASK) << COORDINATE_BITS) | (z & COORDINATE_MASK);
+    }
+}
@@ -0,0 +1,129 @@
+package jak0bw.daggercrafting.collision;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks one server tick of dagger entity collision queries: every dagger looking up its swept box in the
+ * world's entity sections, as vanilla projectiles do, against the {@link SpatialGrid} of
+ * {@link DaggerCollisionBroadPhase}, which loads the 16 block regions the swept boxes touch from the sections
+ * once per tick and is queried per dagger. Boxes are random within a 128 block cube, with mob sized entities and
+ * daggers moving up to 3 blocks per tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpatialGridBenchmark {
+    private static final int ENTITIES = 2000;
+    private static final double AREA = 128.0;
+
+    @Param({"10", "100", "1000"})
+    public int daggers;
+
+    private double[][] entityBoxes;
+    private double[][] sweptBoxes;
+    private final SectionedBoxes sections = new SectionedBoxes();
+    private final SpatialGrid<double[]> grid = new SpatialGrid<>(4.0);
+    private final IntArrayList candidates = new IntArrayList();
+    private final LongOpenHashSet loadedRegions = new LongOpenHashSet();
+    private final ReferenceOpenHashSet<double[]> inserted = new ReferenceOpenHashSet<>();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.entityBoxes = new double[ENTITIES][];
+        for (int i = 0; i < ENTITIES; i++) {
+            this.entityBoxes[i] = box(random, 0.6, 1.8, 0.6);
+            this.sections.add(this.entityBoxes[i]);
+        }
+        this.sweptBoxes = new double[this.daggers][];
+        for (int i = 0; i < this.daggers; i++) {
+            // Dagger box stretched by its velocity and expanded by 1, as in the collision query
+            double[] box = box(random, 0.5, 0.5, 0.5);
+            for (int axis = 0; axis < 3; axis++) {
+                double velocity = (random.nextDouble() * 2.0 - 1.0) * 3.0;
+                if (velocity < 0) {
+                    box[axis] += velocity;
+                } else {
+                    box[axis + 3] += velocity;
+                }
+                box[axis] -= 1.0;
+                box[axis + 3] += 1.0;
+            }
+            this.sweptBoxes[i] = box;
+        }
+    }
+
+    private static double[] box(Random random, double width, double height, double depth) {
+        double x = random.nextDouble() * AREA;
+        double y = random.nextDouble() * AREA;
+        double z = random.nextDouble() * AREA;
+        return new double[] {x, y, z, x + width, y + height, z + depth};
+    }
+
+    private static boolean intersects(double[] a, double[] b) {
+        return a[0] < b[3] && a[3] > b[0] && a[1] < b[4] && a[4] > b[1] && a[2] < b[5] && a[5] > b[2];
+    }
+
+    @Benchmark
+    public int sectionLookup() {
+        int hits = 0;
+        for (double[] swept : this.sweptBoxes) {
+            hits += this.sections.getIntersecting(swept[0], swept[1], swept[2], swept[3], swept[4], swept[5]).size();
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int grid() {
+        SpatialGrid<double[]> grid = this.grid;
+        grid.clear();
+        this.loadedRegions.clear();
+        this.inserted.clear();
+        int hits = 0;
+        for (double[] swept : this.sweptBoxes) {
+            this.load(swept);
+            grid.query(swept[0], swept[1], swept[2], swept[3], swept[4], swept[5], this.candidates);
+            for (int i = 0, size = this.candidates.size(); i < size; i++) {
+                if (intersects(swept, grid.get(this.candidates.getInt(i)))) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private void load(double[] swept) {
+        int maxX = region(swept[3]), maxY = region(swept[4]), maxZ = region(swept[5]);
+        for (int x = region(swept[0]); x <= maxX; x++) {
+            for (int y = region(swept[1]); y <= maxY; y++) {
+                for (int z = region(swept[2]); z <= maxZ; z++) {
+                    if (!this.loadedRegions.add(((long) x << 42) | ((long) y << 21) | z)) {
+                        continue;
+                    }
+                    for (double[] entity : this.sections.getIntersecting(x * 16.0, y * 16.0, z * 16.0, x * 16.0 + 16.0, y * 16.0 + 16.0, z * 16.0 + 16.0)) {
+                        if (this.inserted.add(entity)) {
+                            this.grid.insert(entity, entity[0] - 1.0, entity[1] - 1.0, entity[2] - 1.0, entity[3] + 1.0, entity[4] + 1.0, entity[5] + 1.0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static int region(double coordinate) {
+        return (int) Math.floor(coordinate / 16.0);
+    }
+}
@@ -0,0 +1,80 @@
+package jak0bw.daggercrafting.enchantment;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the dagger enchantment check done by {@code EnchantmentMixin} on every
+ * {@code isAcceptableItem} / {@code isPrimaryItem} call, against the old string matching approach.
+ * Plain objects stand in for enchantments, since both approaches only need identity and {@code toString}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnchantmentCompatibilityBenchmark {
+    private static final String[] ENCHANTMENT_NAMES = {
+        "Protection", "Fire Protection", "Feather Falling", "Blast Protection", "Projectile Protection",
+        "Respiration", "Aqua Affinity", "Thorns", "Depth Strider", "Frost Walker", "Curse of Binding",
+        "Soul Speed", "Swift Sneak", "Sharpness", "Smite", "Bane of Arthropods", "Knockback", "Fire Aspect",
+        "Looting", "Sweeping Edge", "Efficiency", "Silk Touch", "Unbreaking", "Fortune", "Power", "Punch",
+        "Flame", "Infinity", "Luck of the Sea", "Lure", "Loyalty", "Impaling", "Riptide", "Channeling",
+        "Multishot", "Quick Charge", "Piercing", "Density", "Breach", "Wind Burst", "Mending",
+        "Curse of Vanishing", "Throwing Speed"
+    };
+    private static final String[] ALLOWED = {
+        "flame", "fire aspect", "throwing speed", "loyalty", "unbreaking", "sharpness", "smite", "bane of arthropods", "mending"
+    };
+
+    private final Object[] enchantments = new Object[ENCHANTMENT_NAMES.length];
+    private final Map<Object, Integer> table = new IdentityHashMap<>();
+    private int index;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < ENCHANTMENT_NAMES.length; i++) {
+            String name = ENCHANTMENT_NAMES[i];
+            Object enchantment = new Object() {
+                @Override
+                public String toString() {
+                    return "Enchantment " + name;
+                }
+            };
+            this.enchantments[i] = enchantment;
+            for (String allowed : ALLOWED) {
+                if (name.equalsIgnoreCase(allowed)) {
+                    this.table.put(enchantment, EnchantmentCompatibilityIndex.ACCEPTABLE | EnchantmentCompatibilityIndex.PRIMARY);
+                }
+            }
+        }
+    }
+
+    private Object next() {
+        this.index = (this.index + 1) % this.enchantments.length;
+        return this.enchantments[this.index];
+    }
+
+    @Benchmark
+    public boolean indexLookup() {
+        return EnchantmentCompatibilityIndex.allows(this.table, next(), EnchantmentCompatibilityIndex.ACCEPTABLE);
+    }
+
+    @Benchmark
+    public boolean stringMatching() {
+        String enchantmentString = next().toString().toLowerCase();
+        for (String valid : new String[]{"flame", "fire aspect", "throwing speed", "loyalty", "unbreaking", "sharpness", "smite", "bane of arthropods", "mending"}) {
+            if (enchantmentString.contains(valid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
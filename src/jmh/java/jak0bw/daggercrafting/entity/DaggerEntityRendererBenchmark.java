@@ -0,0 +1,67 @@
+package jak0bw.daggercrafting.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.joml.Quaternionf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the throw animation easing used by {@link DaggerEntityRenderer} for every dagger every frame,
+ * and the model rotation computed from it: reused quaternions against two fresh ones per dagger.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DaggerEntityRendererBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private final float[] seconds = new float[SAMPLES];
+    private final float[] yaws = new float[SAMPLES];
+    private final float[] pitches = new float[SAMPLES];
+    private final Quaternionf rotation = new Quaternionf();
+    private final Quaternionf scratch = new Quaternionf();
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Mix of daggers still animating and daggers past the animation duration
+            this.seconds[i] = random.nextFloat() * 0.6f;
+            this.yaws[i] = random.nextFloat() * 360.0f - 180.0f;
+            this.pitches[i] = random.nextFloat() * 180.0f - 90.0f;
+        }
+    }
+
+    @Benchmark
+    public float animatedAngle() {
+        this.index = (this.index + 1) & (SAMPLES - 1);
+        return DaggerEntityRenderer.getAnimatedAngle(this.seconds[this.index], 70, 135, 0.3f);
+    }
+
+    @Benchmark
+    public Quaternionf rotationReused() {
+        this.index = (this.index + 1) & (SAMPLES - 1);
+        int i = this.index;
+        return DaggerEntityRenderer.computeRotation(this.yaws[i], this.pitches[i], this.seconds[i], this.rotation, this.scratch);
+    }
+
+    @Benchmark
+    public Quaternionf rotationAllocating() {
+        this.index = (this.index + 1) & (SAMPLES - 1);
+        int i = this.index;
+        Quaternionf quaternion = new Quaternionf().rotationYXZ(
+            (float)Math.toRadians(this.yaws[i]), (float)Math.toRadians(-this.pitches[i]), 0.0f);
+        Quaternionf quaternion2 = new Quaternionf().rotationXYZ(
+            (float)Math.toRadians(DaggerEntityRenderer.getAnimatedAngle(this.seconds[i], 70, 135, 0.3f)), (float)Math.toRadians(90), 0.0f);
+        return quaternion.mul(quaternion2);
+    }
+}
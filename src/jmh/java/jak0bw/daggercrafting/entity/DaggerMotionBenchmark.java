@@ -0,0 +1,114 @@
+package jak0bw.daggercrafting.entity;
+
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-tick math of a thrown dagger through the {@link DaggerMotion} kernels.
+ * {@link #returnMotionVec3d} mirrors the original Vec3d based return motion and prediction as an allocation baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DaggerMotionBenchmark {
+    private static final int SAMPLES = 1024;
+    private static final double BASE_SPEED = 2.0;
+    private static final int LOYALTY = 3;
+
+    private final double[] positions = new double[SAMPLES * 3];
+    private final double[] velocities = new double[SAMPLES * 3];
+    private final double[] targets = new double[SAMPLES * 3];
+    private final double[] velocityOut = new double[3];
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES * 3; i++) {
+            this.positions[i] = random.nextDouble() * 64.0 - 32.0;
+            this.velocities[i] = random.nextDouble() * 4.0 - 2.0;
+            this.targets[i] = random.nextDouble() * 64.0 - 32.0;
+        }
+    }
+
+    private int next() {
+        this.index = (this.index + 1) & (SAMPLES - 1);
+        return this.index * 3;
+    }
+
+    @Benchmark
+    public void returnStep(Blackhole blackhole) {
+        int i = next();
+        double dx = this.targets[i] - this.positions[i];
+        double dy = this.targets[i + 1] - this.positions[i + 1];
+        double dz = this.targets[i + 2] - this.positions[i + 2];
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        double vx = this.velocities[i];
+        double vy = this.velocities[i + 1];
+        double vz = this.velocities[i + 2];
+        blackhole.consume(DaggerMotion.returnStep(dx, dy, dz, distance, Math.sqrt(vx * vx + vy * vy + vz * vz), BASE_SPEED, LOYALTY, this.velocityOut));
+        blackhole.consume(this.velocityOut);
+    }
+
+    @Benchmark
+    public void returnMotionVec3d(Blackhole blackhole) {
+        int i = next();
+        Vec3d position = new Vec3d(this.positions[i], this.positions[i + 1], this.positions[i + 2]);
+        Vec3d eyePos = new Vec3d(this.targets[i], this.targets[i + 1], this.targets[i + 2]);
+        Vec3d velocity = new Vec3d(this.velocities[i], this.velocities[i + 1], this.velocities[i + 2]);
+        Vec3d toTarget = eyePos.subtract(position);
+        double nextSpeed = DaggerMotion.nextReturnSpeed(velocity.length(), toTarget.length(), BASE_SPEED, LOYALTY);
+        Vec3d nextVelocity = toTarget.normalize().multiply(nextSpeed);
+        // The old path computed the offset a second time to predict the arrival
+        Vec3d toTargetAgain = eyePos.subtract(position);
+        blackhole.consume(DaggerMotion.timeToTarget(toTargetAgain.length(), nextVelocity.length()));
+        blackhole.consume(nextVelocity);
+    }
+
+    @Benchmark
+    public double timeToTarget() {
+        int i = next();
+        double dx = this.targets[i] - this.positions[i];
+        double dy = this.targets[i + 1] - this.positions[i + 1];
+        double dz = this.targets[i + 2] - this.positions[i + 2];
+        double vx = this.velocities[i];
+        double vy = this.velocities[i + 1];
+        double vz = this.velocities[i + 2];
+        return DaggerMotion.timeToTarget(Math.sqrt(dx * dx + dy * dy + dz * dz), Math.sqrt(vx * vx + vy * vy + vz * vz));
+    }
+
+    @Benchmark
+    public void orientation(Blackhole blackhole) {
+        int i = next();
+        blackhole.consume(DaggerMotion.yawDegrees(this.velocities[i], this.velocities[i + 2]));
+        blackhole.consume(DaggerMotion.pitchDegrees(this.velocities[i], this.velocities[i + 1], this.velocities[i + 2]));
+    }
+
+    @Benchmark
+    public void knockback(Blackhole blackhole) {
+        int i = next();
+        double scale = 0.5 * 0.15f;
+        blackhole.consume(DaggerMotion.knockbackComponent(this.velocities[i], scale));
+        blackhole.consume(DaggerMotion.knockbackComponent(this.velocities[i + 1], scale));
+        blackhole.consume(DaggerMotion.knockbackComponent(this.velocities[i + 2], scale));
+    }
+
+    @Benchmark
+    public int interpolationSteps() {
+        int i = next();
+        double vx = this.velocities[i];
+        double vy = this.velocities[i + 1];
+        double vz = this.velocities[i + 2];
+        return DaggerMotion.interpolationSteps(3, vx * vx + vy * vy + vz * vz);
+    }
+}
@@ -0,0 +1,152 @@
+package jak0bw.daggercrafting.entity;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtDouble;
+import net.minecraft.nbt.NbtFloat;
+import net.minecraft.nbt.NbtIntArray;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtSizeTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks saving and loading the entity data of a chunk full of grounded daggers, as compressed NBT like in
+ * region files, in the legacy format and in the compact format written by {@link DaggerEntity}.
+ * The compounds are built by hand with the keys vanilla and the dagger write, so no game bootstrap is needed.
+ * A quarter of the daggers were thrown from creative and carry the default stack, the others carry a damaged
+ * one, and a third of those also have Loyalty III; the compact format stores these as their damage and
+ * enchantments instead of the full stack. Reading the compounds back into entities, which also decodes the
+ * enchantments and recomputes Loyalty for legacy data, needs a world and is measured by the
+ * {@code dagger_nbt_round_trip} and {@code legacy_dagger_nbt_load} load test scenarios.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DaggerNbtBenchmark {
+    private static final int DAGGERS = 256;
+
+    @Param({"legacy", "compact"})
+    public String format;
+
+    private NbtCompound chunk;
+    private byte[] saved;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        boolean compact = this.format.equals("compact");
+        NbtList entities = new NbtList();
+        for (int i = 0; i < DAGGERS; i++) {
+            entities.add(dagger(random, compact, i % 4 == 0, i % 4 == 3));
+        }
+        this.chunk = new NbtCompound();
+        this.chunk.put("Entities", entities);
+        this.saved = this.save();
+    }
+
+    private static NbtCompound dagger(Random random, boolean compact, boolean defaultStack, boolean loyalty) {
+        NbtCompound nbt = new NbtCompound();
+        NbtList pos = new NbtList();
+        pos.add(NbtDouble.of(random.nextDouble() * 16.0));
+        pos.add(NbtDouble.of(64.0 + random.nextDouble() * 8.0));
+        pos.add(NbtDouble.of(random.nextDouble() * 16.0));
+        NbtList motion = new NbtList();
+        motion.add(NbtDouble.of(0.0));
+        motion.add(NbtDouble.of(0.0));
+        motion.add(NbtDouble.of(0.0));
+        NbtList rotation = new NbtList();
+        rotation.add(NbtFloat.of(random.nextFloat() * 360.0F));
+        rotation.add(NbtFloat.of(random.nextFloat() * 180.0F - 90.0F));
+        nbt.put("Pos", pos);
+        nbt.put("Motion", motion);
+        nbt.put("Rotation", rotation);
+        nbt.putString("id", "daggercrafting:iron_dagger");
+        nbt.putFloat("FallDistance", 0.0F);
+        nbt.putShort("Fire", (short) 0);
+        nbt.putShort("Air", (short) 300);
+        nbt.putBoolean("OnGround", false);
+        nbt.putBoolean("Invulnerable", false);
+        nbt.putInt("PortalCooldown", 0);
+        nbt.put("UUID", new NbtIntArray(new int[] {random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()}));
+        nbt.put("Owner", new NbtIntArray(new int[] {1, 2, 3, 4}));
+        nbt.putBoolean("LeftOwner", true);
+        nbt.putBoolean("HasBeenShot", true);
+        nbt.putShort("life", (short) random.nextInt(1200));
+        NbtCompound blockState = new NbtCompound();
+        blockState.putString("Name", "minecraft:stone");
+        nbt.put("inBlockState", blockState);
+        nbt.putByte("shake", (byte) 0);
+        nbt.putBoolean("inGround", true);
+        nbt.putBoolean("crit", false);
+        nbt.putByte("PierceLevel", (byte) 0);
+        nbt.putByte("pickup", (byte) 1);
+        int damage = defaultStack ? 0 : 1 + random.nextInt(99);
+        if (compact) {
+            if (damage > 0) {
+                nbt.putInt("ItemDamage", damage);
+            }
+            if (loyalty) {
+                nbt.put("ItemEnchantments", enchantments());
+            }
+            nbt.putByte("DaggerVersion", (byte) 2);
+            nbt.putByte("DaggerFlags", (byte) (loyalty ? 3 : 1));
+            nbt.putByte("Loyalty", (byte) (loyalty ? 3 : 0));
+        } else {
+            NbtCompound item = new NbtCompound();
+            item.putString("id", "daggercrafting:iron_dagger");
+            item.putInt("count", 1);
+            if (damage > 0) {
+                NbtCompound components = new NbtCompound();
+                components.putInt("minecraft:damage", damage);
+                if (loyalty) {
+                    components.put("minecraft:enchantments", enchantments());
+                }
+                item.put("components", components);
+            }
+            nbt.put("item", item);
+            nbt.putString("SoundEvent", "minecraft:item.trident.hit_ground");
+            nbt.putBoolean("DealtDamage", true);
+        }
+        return nbt;
+    }
+
+    /**
+     * @return Loyalty III, as the enchantments component codec writes it.
+     */
+    private static NbtCompound enchantments() {
+        NbtCompound levels = new NbtCompound();
+        levels.putInt("minecraft:loyalty", 3);
+        NbtCompound enchantments = new NbtCompound();
+        enchantments.put("levels", levels);
+        return enchantments;
+    }
+
+    private byte[] save() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NbtIo.writeCompressed(this.chunk, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] saveChunk() throws IOException {
+        return this.save();
+    }
+
+    @Benchmark
+    public NbtCompound loadChunk() throws IOException {
+        return NbtIo.readCompressed(new ByteArrayInputStream(this.saved), NbtSizeTracker.ofUnlimitedBytes());
+    }
+}
@@ -0,0 +1,137 @@
+package jak0bw.daggercrafting.entity;
+
+import org.joml.Quaternionf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks one frame of render state preparation for 1,000 daggers stuck in the ground, without a GPU.
+ * All cases go through {@link DaggerItemStates#select}, the item state selection of {@link DaggerEntityRenderer}:
+ * the per-entity case resolves every dagger's own item state, as flying daggers do, while the grounded and far
+ * cases share resolved states and reuse the rotation from the dagger's {@link DaggerRenderCache}. The inherited
+ * case resolves each dagger's own state before selecting a shared one, which is what extending
+ * {@code FlyingItemEntityRenderer} did. A small stand-in object replaces {@code ItemRenderState}, whose
+ * resolution clears and refills its model layers, since resolving real models needs a game instance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroundedDaggerRenderBenchmark {
+    private static final int DAGGERS = 1000;
+    private static final String[] MODELS = {
+        "daggercrafting:item/wooden_dagger", "daggercrafting:item/stone_dagger", "daggercrafting:item/iron_dagger",
+        "daggercrafting:item/golden_dagger", "daggercrafting:item/diamond_dagger", "daggercrafting:item/netherite_dagger"
+    };
+
+    /**
+     * Stand-in for a resolved item render state.
+     */
+    private static final class ItemState {
+        private final List<Object> layers = new ArrayList<>();
+
+        void resolve(String model, boolean glint) {
+            this.layers.clear();
+            this.layers.add(model);
+            if (glint) {
+                this.layers.add(Boolean.TRUE);
+            }
+        }
+    }
+
+    private final String[] models = new String[DAGGERS];
+    private final boolean[] glints = new boolean[DAGGERS];
+    private final float[] yaws = new float[DAGGERS];
+    private final float[] pitches = new float[DAGGERS];
+    private final DaggerRenderCache[] renderCaches = new DaggerRenderCache[DAGGERS];
+    private final ItemState ownState = new ItemState();
+    private final Quaternionf stateRotation = new Quaternionf();
+    private final Quaternionf scratch = new Quaternionf();
+    private int current;
+    private final DaggerItemStates<String, ItemState> itemStates = new DaggerItemStates<>() {
+        @Override
+        protected ItemState create() {
+            return new ItemState();
+        }
+
+        @Override
+        protected void resolve(ItemState state, boolean plain) {
+            GroundedDaggerRenderBenchmark benchmark = GroundedDaggerRenderBenchmark.this;
+            state.resolve(plain ? MODELS[0] : benchmark.models[benchmark.current], !plain && benchmark.glints[benchmark.current]);
+        }
+    };
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < DAGGERS; i++) {
+            this.models[i] = MODELS[random.nextInt(MODELS.length)];
+            this.glints[i] = random.nextInt(4) == 0;
+            this.yaws[i] = random.nextFloat() * 360.0f - 180.0f;
+            this.pitches[i] = random.nextFloat() * 180.0f - 90.0f;
+            this.renderCaches[i] = new DaggerRenderCache();
+        }
+    }
+
+    @Benchmark
+    public int perEntity() {
+        int layers = 0;
+        for (int i = 0; i < DAGGERS; i++) {
+            this.current = i;
+            DaggerEntityRenderer.computeRotation(this.yaws[i], this.pitches[i], 1.0f, this.stateRotation, this.scratch);
+            layers += this.itemStates.select(false, null, this.glints[i], this.ownState).layers.size();
+        }
+        return layers;
+    }
+
+    @Benchmark
+    public int inherited() {
+        int layers = 0;
+        for (int i = 0; i < DAGGERS; i++) {
+            this.current = i;
+            this.rotation(i);
+            this.ownState.resolve(this.models[i], this.glints[i]);
+            layers += this.itemStates.select(false, this.models[i], this.glints[i], this.ownState).layers.size();
+        }
+        return layers;
+    }
+
+    @Benchmark
+    public int grounded() {
+        int layers = 0;
+        for (int i = 0; i < DAGGERS; i++) {
+            this.current = i;
+            this.rotation(i);
+            layers += this.itemStates.select(false, this.models[i], this.glints[i], this.ownState).layers.size();
+        }
+        return layers;
+    }
+
+    @Benchmark
+    public int far() {
+        int layers = 0;
+        for (int i = 0; i < DAGGERS; i++) {
+            this.current = i;
+            this.rotation(i);
+            layers += this.itemStates.select(true, null, this.glints[i], this.ownState).layers.size();
+        }
+        return layers;
+    }
+
+    private void rotation(int i) {
+        DaggerRenderCache cache = this.renderCaches[i];
+        if (cache.update(this.yaws[i], this.pitches[i], 1.0f)) {
+            DaggerEntityRenderer.computeRotation(this.yaws[i], this.pitches[i], 1.0f, cache.rotation, this.scratch);
+        }
+        this.stateRotation.set(cache.rotation);
+    }
+}
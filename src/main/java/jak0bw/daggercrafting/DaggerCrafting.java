@@ -1,5 +1,9 @@
 package jak0bw.daggercrafting;
 
+import jak0bw.daggercrafting.command.DaggerCommands;
+import jak0bw.daggercrafting.debug.DaggerAssetCheck;
+import jak0bw.daggercrafting.debug.DaggerDiagnostics;
+import jak0bw.daggercrafting.debug.StartupProfiler;
 import net.fabricmc.api.ModInitializer;
 
 import org.slf4j.Logger;
@@ -7,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 
 
+
 public class DaggerCrafting implements ModInitializer {
 	public static final String MOD_ID = "daggercrafting";
 
@@ -20,9 +25,26 @@ public class DaggerCrafting implements ModInitializer {
 	@Override
 	public void onInitialize() {
 		LOGGER.info("Hello Fabric world!");
-		
-		ModEnchantments.registerModEnchantments();
-		ModEntities.registerModEntities();
-		ModItems.registerModItems();
+
+		StartupProfiler profiler = new StartupProfiler();
+		profiler.phase("config", DaggerCraftingConfig::load);
+		profiler.phase("diagnostics", DaggerDiagnostics::init);
+		profiler.phase("enchantments", ModEnchantments::registerModEnchantments);
+		profiler.phase("entities", ModEntities::registerModEntities);
+		profiler.phase("items", ModItems::registerModItems);
+		profiler.phase("bindings", DaggerToolMaterial::validateBindings);
+		profiler.phase("asset check", DaggerCrafting::checkAssets);
+		profiler.phase("data packs", DaggerMaterialLoader::register);
+		profiler.phase("commands", DaggerCommands::register);
+		profiler.report();
+	}
+
+	/**
+	 * Logs every missing asset or data file of the dagger materials, see {@link DaggerAssetCheck}.
+	 */
+	private static void checkAssets() {
+		for (String missing : DaggerAssetCheck.findMissingAssets()) {
+			LOGGER.warn("Missing dagger asset: {}", missing);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -4,7 +4,14 @@ import net.fabricmc.api.ClientModInitializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import net.fabricmc.fabric.api.client.rendering.v1.EntityRendererRegistry;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import jak0bw.daggercrafting.enchantment.EnchantmentCompatibilityIndex;
+import jak0bw.daggercrafting.entity.DaggerEntity;
 import jak0bw.daggercrafting.entity.DaggerEntityRenderer;
+import jak0bw.daggercrafting.network.DaggerMaterialStatsPayload;
+import jak0bw.daggercrafting.network.DaggerTrajectoryPayload;
+import jak0bw.daggercrafting.preview.TrajectoryPreview;
 
 public class DaggerCraftingClient implements ClientModInitializer {
     public static final Logger LOGGER = LoggerFactory.getLogger("DaggerCraftingClient");
@@ -12,8 +19,21 @@ public class DaggerCraftingClient implements ClientModInitializer {
     @Override
     public void onInitializeClient() {
         LOGGER.info("DaggerCrafting client initialized");
-        for (String name : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.keySet()) {
-            EntityRendererRegistry.register(ModEntities.DAGGER_ENTITY_TYPES.get(name), DaggerEntityRenderer::new);
+        for (DaggerToolMaterial material : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.values()) {
+            EntityRendererRegistry.register(material.getEntityType(), context -> new DaggerEntityRenderer(context, material));
         }
+        ClientPlayNetworking.registerGlobalReceiver(DaggerTrajectoryPayload.ID, (payload, context) -> {
+            if (context.player().getWorld().getEntityById(payload.entityId()) instanceof DaggerEntity dagger) {
+                dagger.applyTrajectorySeed(payload);
+            }
+        });
+        ClientPlayNetworking.registerGlobalReceiver(DaggerMaterialStatsPayload.ID, (payload, context) -> payload.apply());
+        ClientPlayConnectionEvents.JOIN.register((handler, sender, client) ->
+            EnchantmentCompatibilityIndex.rebuildClient(handler.getRegistryManager()));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            EnchantmentCompatibilityIndex.clearClient();
+            DaggerToolMaterial.resetStats();
+        });
+        TrajectoryPreview.register();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,94 @@
+package jak0bw.daggercrafting;
+
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Server/client configuration for the DaggerCrafting mod.
+ * Values are read once at startup from {@code config/daggercrafting.properties}; missing keys or a missing
+ * file fall back to the defaults given by the caller, so the file only needs to contain overrides.
+ */
+public final class DaggerCraftingConfig {
+    private static final Properties PROPERTIES = new Properties();
+
+    private DaggerCraftingConfig() {
+    }
+
+    /**
+     * Loads the configuration file if it exists.
+     * Should be called before any other part of the mod is initialized.
+     */
+    public static void load() {
+        Path path = FabricLoader.getInstance().getConfigDir().resolve(DaggerCrafting.MOD_ID + ".properties");
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(path)) {
+            PROPERTIES.load(reader);
+            DaggerCrafting.LOGGER.info("Loaded configuration from " + path);
+        } catch (IOException e) {
+            DaggerCrafting.LOGGER.error("Failed to read configuration from " + path + ", using defaults", e);
+        }
+    }
+
+    /**
+     * @param key The property key.
+     * @param defaultValue The value to use if the key is missing.
+     * @return The configured boolean value.
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = PROPERTIES.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * @param key The property key.
+     * @param defaultValue The value to use if the key is missing.
+     * @return The configured string value, trimmed.
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = PROPERTIES.getProperty(key);
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * @param key The property key.
+     * @param defaultValue The value to use if the key is missing or malformed.
+     * @return The configured int value.
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = PROPERTIES.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            DaggerCrafting.LOGGER.warn("Invalid integer for config key " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @param key The property key.
+     * @param defaultValue The value to use if the key is missing or malformed.
+     * @return The configured double value.
+     */
+    public static double getDouble(String key, double defaultValue) {
+        String value = PROPERTIES.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            DaggerCrafting.LOGGER.warn("Invalid number for config key " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package jak0bw.daggercrafting;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.mojang.serialization.JsonOps;
+import jak0bw.daggercrafting.network.DaggerMaterialStatsPayload;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads dagger material stats from data packs, see {@link DaggerMaterialStats}.
+ *
+ * Each file {@code data/daggercrafting/dagger_material/<name>.json} overrides the stats of the material with that
+ * name. Files are decoded and validated first, then every material's stats are replaced and published in one
+ * {@link DaggerMaterialTable} on the server thread; materials without a valid file go back to their built-in stats. A file that fails validation is
+ * logged and ignored, so a typo never takes a material out of the game.
+ *
+ * Clients don't see server data packs, so the ranged stats are sent to them in a {@link DaggerMaterialStatsPayload}
+ * on join and after every reload.
+ */
+public final class DaggerMaterialLoader implements SimpleSynchronousResourceReloadListener {
+    private static final Identifier ID = Identifier.of(DaggerCrafting.MOD_ID, "dagger_materials");
+    private static final String DIRECTORY = "dagger_material";
+
+    private DaggerMaterialLoader() {
+    }
+
+    /**
+     * Registers the loader for server data packs and the payload that syncs the loaded stats to clients.
+     * Should be called during mod initialization.
+     */
+    public static void register() {
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new DaggerMaterialLoader());
+        PayloadTypeRegistry.playS2C().register(DaggerMaterialStatsPayload.ID, DaggerMaterialStatsPayload.CODEC);
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> DaggerMaterialStatsPayload.send(handler.getPlayer()));
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                DaggerMaterialStatsPayload.sendToAll(server);
+            }
+        });
+    }
+
+    @Override
+    public Identifier getFabricId() {
+        return ID;
+    }
+
+    @Override
+    public void reload(ResourceManager manager) {
+        Map<DaggerToolMaterial, DaggerMaterialStats> loaded = new HashMap<>();
+        for (Map.Entry<Identifier, Resource> entry : manager.findResources(DIRECTORY, id -> id.getPath().endsWith(".json")).entrySet()) {
+            Identifier file = entry.getKey();
+            String path = file.getPath();
+            String name = path.substring(DIRECTORY.length() + 1, path.length() - ".json".length());
+            DaggerToolMaterial material = DaggerToolMaterial.DAGGER_TOOL_MATERIALS.get(name);
+            if (!DaggerCrafting.MOD_ID.equals(file.getNamespace()) || material == null) {
+                DaggerCrafting.LOGGER.warn("Ignoring dagger material file {}: no dagger material named {}", file, name);
+                continue;
+            }
+            try (Reader reader = entry.getValue().getReader()) {
+                JsonElement json = JsonParser.parseReader(reader);
+                DaggerMaterialStats.codec(material.getRegisteredStats()).parse(JsonOps.INSTANCE, json)
+                    .ifSuccess(stats -> loaded.put(material, stats))
+                    .ifError(error -> DaggerCrafting.LOGGER.error("Invalid dagger material file {}: {}", file, error.message()));
+            } catch (IOException | RuntimeException e) {
+                DaggerCrafting.LOGGER.error("Failed to read dagger material file {}", file, e);
+            }
+        }
+
+        for (DaggerToolMaterial material : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.values()) {
+            DaggerMaterialStats stats = loaded.getOrDefault(material, material.getRegisteredStats());
+            if (!stats.hasSameRegisteredStats(material.getRegisteredStats())) {
+                DaggerCrafting.LOGGER.warn("Dagger material {}: only ranged stats can be changed by data packs, keeping the registered melee stats", material.getName());
+            }
+            material.setStats(stats);
+        }
+        DaggerToolMaterial.publishStats();
+        DaggerCrafting.LOGGER.info("Loaded stats for {} of {} dagger materials from data packs", loaded.size(), DaggerToolMaterial.DAGGER_TOOL_MATERIALS.size());
+    }
+}
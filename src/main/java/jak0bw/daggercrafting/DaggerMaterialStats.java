@@ -0,0 +1,51 @@
+package jak0bw.daggercrafting;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Immutable gameplay stats of a dagger material, as loaded from {@code data/<namespace>/dagger_material/<name>.json}.
+ *
+ * Ranged stats are read at throw and hit time and take effect on the next {@code /reload}. Melee stats,
+ * durability and enchantability are baked into the item's components at registration, before data packs load,
+ * so they can't change at runtime; the data pack values for them are only checked against the registered ones.
+ *
+ * @param rangedDamage The damage of the dagger when thrown.
+ * @param rangedVelocity The velocity of the dagger when thrown.
+ * @param attackDamage The damage of the dagger when used in melee combat.
+ * @param miningSpeed The mining speed of the dagger.
+ * @param durability The durability of the dagger.
+ * @param enchantability The enchantability of the dagger.
+ */
+public record DaggerMaterialStats(
+    float rangedDamage,
+    float rangedVelocity,
+    float attackDamage,
+    float miningSpeed,
+    int durability,
+    int enchantability
+) {
+    /**
+     * Codec for the data pack format. Melee stats are optional and default to the given registered stats.
+     */
+    public static Codec<DaggerMaterialStats> codec(DaggerMaterialStats registered) {
+        return RecordCodecBuilder.create(instance -> instance.group(
+            Codec.floatRange(0.0F, 1024.0F).fieldOf("ranged_damage").forGetter(DaggerMaterialStats::rangedDamage),
+            Codec.floatRange(0.01F, 10.0F).fieldOf("ranged_velocity").forGetter(DaggerMaterialStats::rangedVelocity),
+            Codec.floatRange(0.0F, 1024.0F).optionalFieldOf("attack_damage", registered.attackDamage()).forGetter(DaggerMaterialStats::attackDamage),
+            Codec.floatRange(0.0F, 1024.0F).optionalFieldOf("mining_speed", registered.miningSpeed()).forGetter(DaggerMaterialStats::miningSpeed),
+            Codec.intRange(1, 65536).optionalFieldOf("durability", registered.durability()).forGetter(DaggerMaterialStats::durability),
+            Codec.intRange(0, 255).optionalFieldOf("enchantability", registered.enchantability()).forGetter(DaggerMaterialStats::enchantability)
+        ).apply(instance, DaggerMaterialStats::new));
+    }
+
+    /**
+     * @return True if the stats fixed at registration (everything but the ranged stats) are the same.
+     */
+    public boolean hasSameRegisteredStats(DaggerMaterialStats other) {
+        return this.attackDamage == other.attackDamage
+            && this.miningSpeed == other.miningSpeed
+            && this.durability == other.durability
+            && this.enchantability == other.enchantability;
+    }
+}
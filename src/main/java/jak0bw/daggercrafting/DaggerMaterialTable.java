@@ -0,0 +1,50 @@
+package jak0bw.daggercrafting;
+
+import java.util.Collection;
+
+/**
+ * Struct-of-arrays copy of the ranged stats of all dagger materials, indexed by {@link DaggerToolMaterial#getOrdinal()}.
+ *
+ * Projectile hits and return motion read ranged stats every tick; with the stats laid out by ordinal that is one
+ * volatile read and an array load. A table is never modified once published: {@link #publish} builds a new one
+ * from the materials' current stats and swaps it in, so readers always see stats from a single reload.
+ */
+public final class DaggerMaterialTable {
+    private static volatile DaggerMaterialTable current = new DaggerMaterialTable(0);
+
+    private final float[] rangedDamage;
+    private final float[] rangedVelocity;
+
+    private DaggerMaterialTable(int size) {
+        this.rangedDamage = new float[size];
+        this.rangedVelocity = new float[size];
+    }
+
+    /**
+     * Rebuilds the table from the current stats of the given materials and publishes it.
+     * Called after registration and after every data pack reload.
+     */
+    static void publish(Collection<DaggerToolMaterial> materials) {
+        DaggerMaterialTable table = new DaggerMaterialTable(materials.size());
+        for (DaggerToolMaterial material : materials) {
+            DaggerMaterialStats stats = material.getStats();
+            table.rangedDamage[material.getOrdinal()] = stats.rangedDamage();
+            table.rangedVelocity[material.getOrdinal()] = stats.rangedVelocity();
+        }
+        current = table;
+    }
+
+    /**
+     * @return The ranged damage of the material with the given ordinal.
+     */
+    public static float rangedDamage(int ordinal) {
+        return current.rangedDamage[ordinal];
+    }
+
+    /**
+     * @return The ranged velocity of the material with the given ordinal.
+     */
+    public static float rangedVelocity(int ordinal) {
+        return current.rangedVelocity[ordinal];
+    }
+}
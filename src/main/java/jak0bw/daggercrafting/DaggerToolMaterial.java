@@ -1,16 +1,30 @@
 package jak0bw.daggercrafting;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.LinkedHashMap;
 
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import jak0bw.daggercrafting.item.DaggerItem;
 import net.minecraft.block.Block;
+import net.minecraft.entity.EntityType;
 import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
 import net.minecraft.registry.RegistryKeys;
 import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.registry.tag.TagKey;
 import net.minecraft.util.Identifier;
 
 public class DaggerToolMaterial {
+    /**
+     * The registration name of this material (e.g. "iron_dagger"), used as the path of its item and entity type ids.
+     */
+    private final String name;
+    /**
+     * Dense index of this material in registration order, see {@link DaggerMaterialTable}.
+     */
+    private final int ordinal;
     /**
      * The tag for blocks that are incorrect for this material.
      */
@@ -20,37 +34,39 @@ public class DaggerToolMaterial {
      */
     private final TagKey<Item> repairIngredientTag;
     /**
-     * The damage of the dagger when thrown.
+     * The stats this material was registered with, used when no data pack overrides them.
      */
-    private final float rangedDamage;
+    private final DaggerMaterialStats registeredStats;
     /**
-     * The velocity of the dagger when thrown.
+     * The current stats, replaced as a whole when data packs are reloaded so readers always see a consistent set.
      */
-    private final float rangedVelocity;
+    private volatile DaggerMaterialStats stats;
     /**
-     * The damage of the dagger when used in melee combat. A base damage of 1.0 is added on top of this.
+     * The dagger item of this material. Bound once by ModItems during registration.
      */
-    private final float attackDamage;
+    private Item item;
     /**
-     * The mining speed of the dagger. 4.0 is the base value, whatever we put here is added/subtracted from this.
+     * The projectile entity type of this material. Bound once by ModEntities during registration.
      */
-    private final float miningSpeed;
-    /**
-     * The durability of the dagger.
-     */ 
-    private final int durability;
+    private EntityType<DaggerEntity> entityType;
+
+    private static final Map<String, DaggerToolMaterial> MATERIALS = new LinkedHashMap<>();
     /**
-     * The enchantability of the dagger.
+     * A read-only map of all registered dagger materials, in registration order.
      */
-    private final int enchantability;
+    public static final Map<String, DaggerToolMaterial> DAGGER_TOOL_MATERIALS = Collections.unmodifiableMap(MATERIALS);
 
     /**
-     * A map of all registered dagger materials.
+     * Identity map of bound entity type to material, for resolving the material of an entity before its stack is known.
      */
-    public static Map<String, DaggerToolMaterial> DAGGER_TOOL_MATERIALS = new LinkedHashMap<>();
+    private static final Map<EntityType<?>, DaggerToolMaterial> BY_ENTITY_TYPE = new IdentityHashMap<>();
+
+    private static final DaggerToolMaterial FALLBACK;
 
     /**
-     * Constructor for the DaggerToolMaterial class.
+     * Constructor for the DaggerToolMaterial class. Private, so that {@link #registerDaggerMaterial} is the only
+     * way to get a material and its ordinal.
+     * @param name The registration name of this material.
      * @param inverseTag The tag for blocks that are incorrect for this material.
      * @param repairIngredientTag The tag for items that can repair this material.
      * @param rangedDamage The damage of the dagger when thrown.
@@ -60,7 +76,8 @@ public class DaggerToolMaterial {
      * @param durability The durability of the dagger.
      * @param enchantability The enchantability of the dagger.
      */
-    public DaggerToolMaterial(
+    private DaggerToolMaterial(
+        String name,
         TagKey<Block> inverseTag,
         TagKey<Item> repairIngredientTag,
         float rangedDamage,
@@ -70,25 +87,122 @@ public class DaggerToolMaterial {
         int durability,
         int enchantability
     ) {
+        this.name = name;
+        this.ordinal = MATERIALS.size();
         this.inverseTag = inverseTag;
         this.repairIngredientTag = repairIngredientTag;
-        this.rangedDamage = rangedDamage;
-        this.rangedVelocity = rangedVelocity;
-        this.attackDamage = attackDamage;
-        this.miningSpeed = miningSpeed;
-        this.durability = durability;
-        this.enchantability = enchantability;
+        this.registeredStats = new DaggerMaterialStats(rangedDamage, rangedVelocity, attackDamage, miningSpeed, durability, enchantability);
+        this.stats = this.registeredStats;
     }
 
     // All getter methods for both vanilla compatibility and custom features
+    public String getName() { return this.name; }
     public TagKey<Block> getInverseTag() { return this.inverseTag; }
     public TagKey<Item> getRepairIngredientTag() { return this.repairIngredientTag; }
-    public float getRangedDamage() { return this.rangedDamage; }
-    public float getRangedVelocity() { return this.rangedVelocity; }
-    public float getAttackDamage() { return this.attackDamage; }
-    public float getMiningSpeed() { return this.miningSpeed; }
-    public int getDurability() { return this.durability; }
-    public int getEnchantability() { return this.enchantability; }
+    public int getOrdinal() { return this.ordinal; }
+    public float getRangedDamage() { return DaggerMaterialTable.rangedDamage(this.ordinal); }
+    public float getRangedVelocity() { return DaggerMaterialTable.rangedVelocity(this.ordinal); }
+    public float getAttackDamage() { return this.stats.attackDamage(); }
+    public float getMiningSpeed() { return this.stats.miningSpeed(); }
+    public int getDurability() { return this.stats.durability(); }
+    public int getEnchantability() { return this.stats.enchantability(); }
+    public DaggerMaterialStats getStats() { return this.stats; }
+    public DaggerMaterialStats getRegisteredStats() { return this.registeredStats; }
+    public Item getItem() { return this.item; }
+    public EntityType<DaggerEntity> getEntityType() { return this.entityType; }
+
+    /**
+     * Sets new stats for this material, see {@link DaggerMaterialLoader}.
+     * Only the ranged stats are taken over; the others stay at their registered values.
+     * The ranged stats are read through the {@link DaggerMaterialTable}, which has to be republished afterwards.
+     * @param stats The stats loaded from data packs.
+     */
+    public void setStats(DaggerMaterialStats stats) {
+        DaggerMaterialStats registered = this.registeredStats;
+        this.stats = new DaggerMaterialStats(stats.rangedDamage(), stats.rangedVelocity(),
+            registered.attackDamage(), registered.miningSpeed(), registered.durability(), registered.enchantability());
+    }
+
+    /**
+     * Binds the dagger item of this material. May only be called once.
+     * @param item The registered dagger item.
+     */
+    public void bindItem(Item item) {
+        if (this.item != null) {
+            throw new IllegalStateException("Dagger material " + this.name + " already has an item bound");
+        }
+        this.item = item;
+    }
+
+    /**
+     * Binds the projectile entity type of this material. May only be called once.
+     * @param entityType The registered dagger entity type.
+     */
+    public void bindEntityType(EntityType<DaggerEntity> entityType) {
+        if (this.entityType != null) {
+            throw new IllegalStateException("Dagger material " + this.name + " already has an entity type bound");
+        }
+        this.entityType = entityType;
+        BY_ENTITY_TYPE.put(entityType, this);
+    }
+
+    /**
+     * Rebuilds the {@link DaggerMaterialTable} from the current stats of all materials.
+     */
+    public static void publishStats() {
+        DaggerMaterialTable.publish(MATERIALS.values());
+    }
+
+    /**
+     * Puts every material back to its registered stats and republishes them, e.g. after a client leaves a server
+     * that sent its data pack stats.
+     */
+    public static void resetStats() {
+        for (DaggerToolMaterial material : MATERIALS.values()) {
+            material.stats = material.registeredStats;
+        }
+        publishStats();
+    }
+
+    /**
+     * @return The material to fall back to for items and entity types that aren't daggers.
+     */
+    public static DaggerToolMaterial getFallback() {
+        return FALLBACK;
+    }
+
+    /**
+     * Gets the material whose entity type is the given type.
+     * @param entityType The entity type of a dagger entity.
+     * @return The material, or null if the type is not a bound dagger entity type.
+     */
+    public static DaggerToolMaterial fromEntityType(EntityType<?> entityType) {
+        return BY_ENTITY_TYPE.get(entityType);
+    }
+
+    /**
+     * Checks that every material has its item and entity type bound, and that both are registered under the
+     * material's name and point back to it. Fails fast so a broken registration never reaches gameplay.
+     * Should be called at the end of mod initialization.
+     */
+    public static void validateBindings() {
+        for (Map.Entry<String, DaggerToolMaterial> entry : DAGGER_TOOL_MATERIALS.entrySet()) {
+            DaggerToolMaterial material = entry.getValue();
+            Identifier expectedId = Identifier.of(DaggerCrafting.MOD_ID, entry.getKey());
+            if (!entry.getKey().equals(material.name)) {
+                throw new IllegalStateException("Dagger material " + material.name + " is registered as " + entry.getKey());
+            }
+            if (material.item == null || !expectedId.equals(Registries.ITEM.getId(material.item))) {
+                throw new IllegalStateException("Dagger material " + material.name + " has no item registered as " + expectedId);
+            }
+            if (!(material.item instanceof DaggerItem daggerItem) || daggerItem.getMaterial() != material) {
+                throw new IllegalStateException("Dagger item " + expectedId + " does not use material " + material.name);
+            }
+            if (material.entityType == null || !expectedId.equals(Registries.ENTITY_TYPE.getId(material.entityType))) {
+                throw new IllegalStateException("Dagger material " + material.name + " has no entity type registered as " + expectedId);
+            }
+        }
+    }
 
 
 
@@ -106,6 +220,7 @@ public class DaggerToolMaterial {
      */
     public static DaggerToolMaterial registerDaggerMaterial(String name, TagKey<Block> inverseTag, float rangedDamage, float rangedVelocity, float attackDamage, float miningSpeed, int durability, int enchantability) {
         DaggerToolMaterial material = new DaggerToolMaterial(
+            name,
             inverseTag,
             TagKey.of(RegistryKeys.ITEM, Identifier.of(DaggerCrafting.MOD_ID, "repairs_" + name)),
             rangedDamage,
@@ -115,7 +230,7 @@ public class DaggerToolMaterial {
             durability,
             enchantability
         );
-        DAGGER_TOOL_MATERIALS.put(name, material);
+        MATERIALS.put(name, material);
         return material;
     }
 
@@ -170,6 +285,8 @@ public class DaggerToolMaterial {
             250,
             10
         );
+        FALLBACK = MATERIALS.get("diamond_dagger");
+        publishStats();
     }
 
 
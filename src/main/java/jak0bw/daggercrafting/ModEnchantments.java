@@ -1,5 +1,7 @@
 package jak0bw.daggercrafting;
 
+import jak0bw.daggercrafting.enchantment.DaggerEnchantmentCache;
+import jak0bw.daggercrafting.enchantment.EnchantmentCompatibilityIndex;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.RegistryKeys;
@@ -16,5 +18,7 @@ public class ModEnchantments {
 
 	public static void registerModEnchantments() {
 		DaggerCrafting.LOGGER.info("Registering Enchantments for " + DaggerCrafting.MOD_ID);
+		EnchantmentCompatibilityIndex.registerReloadListeners();
+		DaggerEnchantmentCache.registerReloadListeners();
 	}
 } 
\ No newline at end of file
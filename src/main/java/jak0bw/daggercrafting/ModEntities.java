@@ -1,6 +1,12 @@
 package jak0bw.daggercrafting;
 
+import jak0bw.daggercrafting.collision.DaggerCollisionBroadPhase;
+import jak0bw.daggercrafting.entity.DaggerDormancy;
 import jak0bw.daggercrafting.entity.DaggerEntity;
+import jak0bw.daggercrafting.entity.DaggerPopulationManager;
+import jak0bw.daggercrafting.metrics.DaggerMetrics;
+import jak0bw.daggercrafting.network.DaggerSyncPolicy;
+import jak0bw.daggercrafting.replay.DaggerReplayRecorder;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.SpawnGroup;
 import net.minecraft.registry.Registries;
@@ -46,13 +52,23 @@ public class ModEntities {
     }
 
     /**
-     * Registers all dagger entity types and populates the DAGGER_ENTITY_TYPES map.
+     * Registers all dagger entity types, binds them to their materials and populates the DAGGER_ENTITY_TYPES map.
+     * Also sets up the network sync policy and the collision broad phase for flying daggers,
+     * and the population limits and dormancy for grounded ones.
      * Should be called during mod initialization.
      */
     public static void registerModEntities() {
         DaggerCrafting.LOGGER.info("Registering Mod Entities for " + DaggerCrafting.MOD_ID);
-        for (String name : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.keySet()) {
-            DAGGER_ENTITY_TYPES.put(name, registerDaggerEntityType(name));
+        for (Map.Entry<String, DaggerToolMaterial> entry : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.entrySet()) {
+            EntityType<DaggerEntity> entityType = registerDaggerEntityType(entry.getKey());
+            entry.getValue().bindEntityType(entityType);
+            DAGGER_ENTITY_TYPES.put(entry.getKey(), entityType);
         }
+        DaggerSyncPolicy.register();
+        DaggerCollisionBroadPhase.register();
+        DaggerPopulationManager.register();
+        DaggerDormancy.register();
+        DaggerMetrics.register();
+        DaggerReplayRecorder.register();
     }
 } 
\ No newline at end of file
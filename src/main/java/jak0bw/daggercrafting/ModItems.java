@@ -22,13 +22,15 @@ import java.util.LinkedHashMap;
  * Handles registration and creative tab assignment for all SteelCrafting mod items.
  */
 public class ModItems {
-    // Holds all group addEntry actions to be performed at mod item registration
-    private static List<Runnable> groupAddEntryActions = new ArrayList<>();
+    // Items to add to each creative tab at mod item registration, so each tab gets a single listener
+    private static final Map<RegistryKey<ItemGroup>, List<Item>> groupEntries = new LinkedHashMap<>();
+    // Whether each dependency mod is loaded, so each mod ID is only looked up once
+    private static final Map<String, Boolean> loadedDependencies = new HashMap<>();
 
     /**
      * Registers an item with optional mod dependencies and creative tab groups.
-     * Delays the registration of the item until the mod is fully initialized,
-     * by adding it to a list of actions to be performed at mod item registration.
+     * Delays adding the item to its creative tabs until the mod is fully initialized,
+     * by collecting it into the entries of each tab to be added at mod item registration.
      *
      * @param name The name of the item to register.
      * @param factory A function that creates the item from the given Item.Settings.
@@ -40,12 +42,13 @@ public class ModItems {
     private static Item registerItem(String name, Function<Item.Settings, Item> factory, 
                                    Item.Settings settings, List<RegistryKey<ItemGroup>> groups, String... dependencies) {
         // Check dependencies
-        if (java.util.Arrays.stream(dependencies).anyMatch(modId -> !FabricLoader.getInstance().isModLoaded(modId))) return null;
+        for (String modId : dependencies) {
+            if (!loadedDependencies.computeIfAbsent(modId, FabricLoader.getInstance()::isModLoaded)) return null;
+        }
         // Register item
         Item item = Items.register(RegistryKey.of(RegistryKeys.ITEM, Identifier.of(DaggerCrafting.MOD_ID, name)), factory, settings);
         // Registers the item in the game's item registry under the mod's namespace.
-        if (groups != null) groups.forEach(group -> 
-            groupAddEntryActions.add(() -> ItemGroupEvents.modifyEntriesEvent(group).register(entries -> entries.add(item))));
+        if (groups != null) groups.forEach(group -> groupEntries.computeIfAbsent(group, g -> new ArrayList<>()).add(item));
         return item;
     }
 
@@ -58,13 +61,15 @@ public class ModItems {
     static {
         Map<String, Item> map = new LinkedHashMap<>();
         for (Map.Entry<String, DaggerToolMaterial> entry : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.entrySet()) {
-            System.out.println("Registering dagger item: " + entry.getKey());
-            map.put(entry.getKey(), registerItem(
+            DaggerCrafting.LOGGER.debug("Registering dagger item: {}", entry.getKey());
+            Item item = registerItem(
                 entry.getKey(),
                 settings -> new DaggerItem(settings, entry.getValue()),
                 new Item.Settings(),
                 List.of(ItemGroups.COMBAT)
-            ));
+            );
+            if (item != null) entry.getValue().bindItem(item);
+            map.put(entry.getKey(), item);
         }
         DAGGER_ITEMS = map;
     }
@@ -75,9 +80,8 @@ public class ModItems {
      */
     public static void registerModItems() {
         DaggerCrafting.LOGGER.info("Adding Mod Items to creative tabs for " + DaggerCrafting.MOD_ID);
-        for (Runnable action : groupAddEntryActions) {
-            action.run();
-        }
+        groupEntries.forEach((group, items) ->
+            ItemGroupEvents.modifyEntriesEvent(group).register(entries -> items.forEach(entries::add)));
     }
 }
 
@@ -0,0 +1,347 @@
+package jak0bw.daggercrafting.collision;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.projectile.ProjectileUtil;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.hit.EntityHitResult;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-world broad phase for flying dagger entity collision.
+ *
+ * Vanilla projectiles each ask the world for every entity in their swept box, every tick. Once enough daggers
+ * are in flight in a world, this instead buckets hittable entities into a {@link SpatialGrid} and lets each
+ * dagger query that grid. The grid starts empty every tick and only holds the {@value #REGION_SIZE} block
+ * regions that daggers' swept boxes touched so far: a query first loads the regions it touches that aren't
+ * loaded yet from the world's entity sections, so entities far from any dagger are never visited.
+ * Grid boxes are padded by the entity's speed, and the narrow phase tests the entities' live bounding boxes,
+ * so entities that moved after their region was loaded are still found. While a grid is in use, the entity
+ * mixin reports bounding box changes: an entity whose box leaves its padded grid box, because it was teleported
+ * or knocked back harder than its speed, or that moves into a loaded region, is inserted again at its new
+ * position and its old entry is ignored. Entities loaded into a loaded region are added as they come in.
+ *
+ * The narrow phase mirrors {@link ProjectileUtil#getEntityCollision}: same swept box, tolerance margin,
+ * predicate and nearest-hit rule. Equally near hits are the one case where the result depends on the world's
+ * iteration order; those fall back to the vanilla query so the chosen entity stays the same.
+ *
+ * Daggers faster than {@code collision.continuousSpeed} blocks per tick, which uncapped Throwing Speed allows,
+ * use continuous collision instead, whether or not the grid is in use: their path is split into pieces of at most
+ * {@value #PIECE_LENGTH} blocks, and the world's entity sections are asked for the entities near each piece in
+ * turn, stopping at the first piece with a hit. The cost grows with the distance travelled rather than with the
+ * volume of the swept box, and nothing is built for a single fast dagger. The narrow phase and tie fallback are
+ * the same as above. Blocks need no extra handling, since the vanilla block raycast already walks the voxels
+ * along the path and the entity query only runs up to the block hit.
+ *
+ * All methods are called from the server thread only.
+ */
+public final class DaggerCollisionBroadPhase {
+    /**
+     * Edge length of a grid cell in blocks.
+     */
+    private static final double CELL_SIZE = 4.0;
+    /**
+     * Minimum padding around each entity's box, on top of its speed.
+     */
+    private static final double ENTITY_PADDING = 1.0;
+    /**
+     * Maximum length in blocks of the pieces a fast dagger's path is looked up in.
+     */
+    private static final double PIECE_LENGTH = 8.0;
+    /**
+     * Edge length of the regions the grid is loaded in, one entity section.
+     */
+    private static final int REGION_SIZE = 16;
+
+    private static final Map<ServerWorld, DaggerCollisionBroadPhase> BY_WORLD = new IdentityHashMap<>();
+
+    private static boolean enabled = true;
+    private static int minDaggers = 16;
+    private static boolean continuous = true;
+    private static double continuousSpeedSquared = 16.0;
+    /**
+     * Whether any world's grid is in use this tick, so bounding box changes need to be reported.
+     */
+    private static boolean tracking;
+
+    private final ServerWorld world;
+    private final SpatialGrid<Entity> grid = new SpatialGrid<>(CELL_SIZE);
+    private final IntArrayList candidates = new IntArrayList();
+    /**
+     * The current grid entry of each inserted entity; older entries of entities inserted again are stale.
+     */
+    private final Reference2IntOpenHashMap<Entity> entryIndices = new Reference2IntOpenHashMap<>();
+    /**
+     * The padded box of each grid entry, six coordinates per entry.
+     */
+    private double[] entryBoxes = new double[64 * 6];
+    private final LongOpenHashSet loadedRegions = new LongOpenHashSet();
+    private long countedTime = Long.MIN_VALUE;
+    private int queriesThisTick;
+    private int queriesLastTick;
+    private long builtTime = Long.MIN_VALUE;
+
+    private DaggerCollisionBroadPhase(ServerWorld world) {
+        this.world = world;
+        this.entryIndices.defaultReturnValue(-1);
+    }
+
+    /**
+     * Reads the broad phase settings and registers the entity load, tick and server stop listeners.
+     * Should be called during mod initialization.
+     */
+    public static void register() {
+        enabled = DaggerCraftingConfig.getBoolean("collision.broadPhase", true);
+        minDaggers = DaggerCraftingConfig.getInt("collision.broadPhaseMinDaggers", 16);
+        continuous = DaggerCraftingConfig.getBoolean("collision.continuous", true);
+        double continuousSpeed = DaggerCraftingConfig.getDouble("collision.continuousSpeed", 4.0);
+        continuousSpeedSquared = continuousSpeed * continuousSpeed;
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            DaggerCollisionBroadPhase broadPhase = BY_WORLD.get(world);
+            if (broadPhase != null && broadPhase.builtTime == world.getTime() && broadPhase.isLoaded(entity.getBoundingBox())) {
+                broadPhase.insert(entity);
+            }
+        });
+        ServerTickEvents.END_SERVER_TICK.register(server -> tracking = false);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> BY_WORLD.clear());
+    }
+
+    /**
+     * @return Whether a grid is in use this tick, so the entity mixin needs to report bounding box changes.
+     */
+    public static boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Inserts an entity again if its new bounding box left its padded grid box, or inserts it if it moved into
+     * a loaded region. Called by the entity mixin when a server-side entity's bounding box changes while
+     * {@link #isTracking()}.
+     */
+    public static void onBoundingBoxChanged(Entity entity, ServerWorld world) {
+        DaggerCollisionBroadPhase broadPhase = BY_WORLD.get(world);
+        if (broadPhase == null || broadPhase.builtTime != world.getTime()) {
+            return;
+        }
+        Box box = entity.getBoundingBox();
+        int index = broadPhase.entryIndices.getInt(entity);
+        if (index >= 0 ? !broadPhase.contains(index, box) : broadPhase.isLoaded(box)) {
+            broadPhase.insert(entity);
+        }
+    }
+
+    /**
+     * Finds the entity a dagger hits on its way from {@code from} to {@code to}.
+     * @param predicate The dagger's hit predicate.
+     * @param vanilla The vanilla collision query, used while the broad phase is inactive and for ties.
+     * @return The nearest hit, or null if there is none.
+     */
+    @Nullable
+    public static EntityHitResult getEntityCollision(DaggerEntity dagger, ServerWorld world, Vec3d from, Vec3d to,
+                                                     Predicate<Entity> predicate, Supplier<EntityHitResult> vanilla) {
+        if (!enabled) {
+            return vanilla.get();
+        }
+        Box box = dagger.getBoundingBox().stretch(dagger.getVelocity()).expand(1.0);
+        float margin = ProjectileUtil.getToleranceMargin(dagger);
+        if (continuous && dagger.getVelocity().lengthSquared() > continuousSpeedSquared) {
+            return sweep(dagger, world, from, to, box, margin, predicate, vanilla);
+        }
+        DaggerCollisionBroadPhase broadPhase = BY_WORLD.computeIfAbsent(world, DaggerCollisionBroadPhase::new);
+        return broadPhase.query(dagger, from, to, box, margin, predicate, vanilla);
+    }
+
+    @Nullable
+    private EntityHitResult query(DaggerEntity dagger, Vec3d from, Vec3d to, Box box, float margin,
+                                  Predicate<Entity> predicate, Supplier<EntityHitResult> vanilla) {
+        long time = this.world.getTime();
+        if (time != this.countedTime) {
+            this.queriesLastTick = this.countedTime == time - 1 ? this.queriesThisTick : 0;
+            this.queriesThisTick = 0;
+            this.countedTime = time;
+        }
+        this.queriesThisTick++;
+        // With only a few daggers in flight, building the grid costs more than the queries it saves
+        if (this.queriesLastTick < minDaggers) {
+            return vanilla.get();
+        }
+        if (this.builtTime != time) {
+            this.grid.clear();
+            this.entryIndices.clear();
+            this.loadedRegions.clear();
+            this.builtTime = time;
+            tracking = true;
+        }
+        this.load(box);
+
+        this.grid.query(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, this.candidates);
+        double nearest = Double.MAX_VALUE;
+        Entity hit = null;
+        boolean tied = false;
+        for (int i = 0, size = this.candidates.size(); i < size; i++) {
+            int index = this.candidates.getInt(i);
+            Entity candidate = this.grid.get(index);
+            if (candidate == dagger || candidate.isRemoved() || this.entryIndices.getInt(candidate) != index) {
+                continue;
+            }
+            Box candidateBox = candidate.getBoundingBox();
+            if (!candidateBox.intersects(box) || !predicate.test(candidate)) {
+                continue;
+            }
+            Optional<Vec3d> point = candidateBox.expand(margin).raycast(from, to);
+            if (point.isPresent()) {
+                double distance = from.squaredDistanceTo(point.get());
+                if (distance < nearest) {
+                    nearest = distance;
+                    hit = candidate;
+                    tied = false;
+                } else if (distance == nearest) {
+                    tied = true;
+                }
+            }
+        }
+        if (tied) {
+            return vanilla.get();
+        }
+        return hit == null ? null : new EntityHitResult(hit);
+    }
+
+    /**
+     * Continuous collision of a fast dagger, looking up the entities near its path one piece at a time.
+     */
+    @Nullable
+    private static EntityHitResult sweep(DaggerEntity dagger, ServerWorld world, Vec3d from, Vec3d to, Box box, float margin,
+                                         Predicate<Entity> predicate, Supplier<EntityHitResult> vanilla) {
+        int pieces = Math.max(1, MathHelper.ceil(from.distanceTo(to) / PIECE_LENGTH));
+        // The path hits an entity's expanded box at a point within the margin of the entity's box, so the entity
+        // overlaps the box of the piece holding that point
+        double padding = margin + 0.5;
+        double nearest = Double.MAX_VALUE;
+        Entity hit = null;
+        boolean tied = false;
+        Vec3d start = from;
+        for (int piece = 1; piece <= pieces; piece++) {
+            Vec3d end = piece == pieces ? to : from.lerp(to, (double) piece / pieces);
+            for (Entity candidate : world.getOtherEntities(dagger, new Box(start, end).expand(padding), predicate)) {
+                Box candidateBox = candidate.getBoundingBox();
+                if (candidate == hit || !candidateBox.intersects(box)) {
+                    continue;
+                }
+                Optional<Vec3d> point = candidateBox.expand(margin).raycast(from, to);
+                if (point.isPresent()) {
+                    double distance = from.squaredDistanceTo(point.get());
+                    if (distance < nearest) {
+                        nearest = distance;
+                        hit = candidate;
+                        tied = false;
+                    } else if (distance == nearest) {
+                        tied = true;
+                    }
+                }
+            }
+            // Entities not seen yet are only hit beyond the end of this piece
+            if (hit != null && nearest <= from.squaredDistanceTo(end)) {
+                break;
+            }
+            start = end;
+        }
+        if (tied) {
+            return vanilla.get();
+        }
+        return hit == null ? null : new EntityHitResult(hit);
+    }
+
+    /**
+     * Loads the regions the box touches that aren't loaded yet. Entities already in the grid keep their entry,
+     * which still covers their live box since bounding box changes are reported.
+     */
+    private void load(Box box) {
+        int maxX = region(box.maxX), maxY = region(box.maxY), maxZ = region(box.maxZ);
+        for (int x = region(box.minX); x <= maxX; x++) {
+            for (int y = region(box.minY); y <= maxY; y++) {
+                for (int z = region(box.minZ); z <= maxZ; z++) {
+                    if (!this.loadedRegions.add(ChunkSectionPos.asLong(x, y, z))) {
+                        continue;
+                    }
+                    Box region = new Box(x * REGION_SIZE, y * REGION_SIZE, z * REGION_SIZE,
+                        (x + 1) * REGION_SIZE, (y + 1) * REGION_SIZE, (z + 1) * REGION_SIZE);
+                    for (Entity entity : this.world.getOtherEntities(null, region, Entity::canBeHitByProjectile)) {
+                        if (this.entryIndices.getInt(entity) < 0) {
+                            this.insert(entity);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return True if the box touches a loaded region.
+     */
+    private boolean isLoaded(Box box) {
+        int maxX = region(box.maxX), maxY = region(box.maxY), maxZ = region(box.maxZ);
+        for (int x = region(box.minX); x <= maxX; x++) {
+            for (int y = region(box.minY); y <= maxY; y++) {
+                for (int z = region(box.minZ); z <= maxZ; z++) {
+                    if (this.loadedRegions.contains(ChunkSectionPos.asLong(x, y, z))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int region(double coordinate) {
+        return MathHelper.floor(coordinate / REGION_SIZE);
+    }
+
+    private void insert(Entity entity) {
+        if (!entity.canBeHitByProjectile()) {
+            return;
+        }
+        Box box = entity.getBoundingBox();
+        double padding = ENTITY_PADDING + entity.getVelocity().length();
+        double minX = box.minX - padding, minY = box.minY - padding, minZ = box.minZ - padding;
+        double maxX = box.maxX + padding, maxY = box.maxY + padding, maxZ = box.maxZ + padding;
+        int index = this.grid.insert(entity, minX, minY, minZ, maxX, maxY, maxZ);
+        int offset = index * 6;
+        if (offset + 6 > this.entryBoxes.length) {
+            this.entryBoxes = Arrays.copyOf(this.entryBoxes, this.entryBoxes.length * 2);
+        }
+        this.entryBoxes[offset] = minX;
+        this.entryBoxes[offset + 1] = minY;
+        this.entryBoxes[offset + 2] = minZ;
+        this.entryBoxes[offset + 3] = maxX;
+        this.entryBoxes[offset + 4] = maxY;
+        this.entryBoxes[offset + 5] = maxZ;
+        this.entryIndices.put(entity, index);
+    }
+
+    /**
+     * @return True if the box is inside the padded box of the given grid entry.
+     */
+    private boolean contains(int index, Box box) {
+        int offset = index * 6;
+        return box.minX >= this.entryBoxes[offset] && box.minY >= this.entryBoxes[offset + 1] && box.minZ >= this.entryBoxes[offset + 2]
+            && box.maxX <= this.entryBoxes[offset + 3] && box.maxY <= this.entryBoxes[offset + 4] && box.maxZ <= this.entryBoxes[offset + 5];
+    }
+}
@@ -0,0 +1,139 @@
+package jak0bw.daggercrafting.collision;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform 3D grid of axis-aligned boxes, used as a broad phase for dagger collision queries.
+ * Entries are bucketed into every cell their box overlaps. Queries return each overlapping entry once, in
+ * insertion order, so results are deterministic and match the order the entries were collected in.
+ *
+ * The grid is meant to be rebuilt often: {@link #clear()} keeps the cell lists for reuse.
+ * Not thread-safe.
+ */
+public final class SpatialGrid<T> {
+    private static final int COORDINATE_BITS = 21;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+    private final double inverseCellSize;
+    private final Long2ObjectOpenHashMap<IntArrayList> cells = new Long2ObjectOpenHashMap<>();
+    private final List<IntArrayList> freeLists = new ArrayList<>();
+    private final List<T> entries = new ArrayList<>();
+    /**
+     * Per-entry stamp of the last query that returned it, to report each entry once per query.
+     */
+    private int[] queryStamps = new int[64];
+    private int queryStamp;
+
+    /**
+     * @param cellSize The edge length of a cell in blocks.
+     */
+    public SpatialGrid(double cellSize) {
+        this.inverseCellSize = 1.0 / cellSize;
+    }
+
+    /**
+     * Removes all entries, keeping the allocated cell lists for the next build.
+     */
+    public void clear() {
+        for (IntArrayList list : this.cells.values()) {
+            list.clear();
+            this.freeLists.add(list);
+        }
+        this.cells.clear();
+        this.entries.clear();
+    }
+
+    /**
+     * Adds an entry covering the given box.
+     * @return The index of the entry, in insertion order.
+     */
+    public int insert(T entry, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        int index = this.entries.size();
+        this.entries.add(entry);
+        if (index >= this.queryStamps.length) {
+            this.queryStamps = Arrays.copyOf(this.queryStamps, this.queryStamps.length * 2);
+        }
+        this.queryStamps[index] = this.queryStamp;
+
+        int minCellX = cell(minX), maxCellX = cell(maxX);
+        int minCellY = cell(minY), maxCellY = cell(maxY);
+        int minCellZ = cell(minZ), maxCellZ = cell(maxZ);
+        for (int x = minCellX; x <= maxCellX; x++) {
+            for (int y = minCellY; y <= maxCellY; y++) {
+                for (int z = minCellZ; z <= maxCellZ; z++) {
+                    long key = key(x, y, z);
+                    IntArrayList list = this.cells.get(key);
+                    if (list == null) {
+                        list = this.freeLists.isEmpty() ? new IntArrayList() : this.freeLists.remove(this.freeLists.size() - 1);
+                        this.cells.put(key, list);
+                    }
+                    list.add(index);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Collects the indices of all entries whose cells overlap the given box, each once and in insertion order.
+     * This is a conservative broad phase: callers still need to test the actual boxes.
+     * @param out Cleared and filled with the entry indices.
+     */
+    public void query(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, IntArrayList out) {
+        out.clear();
+        int stamp = ++this.queryStamp;
+        int minCellX = cell(minX), maxCellX = cell(maxX);
+        int minCellY = cell(minY), maxCellY = cell(maxY);
+        int minCellZ = cell(minZ), maxCellZ = cell(maxZ);
+        for (int x = minCellX; x <= maxCellX; x++) {
+            for (int y = minCellY; y <= maxCellY; y++) {
+                for (int z = minCellZ; z <= maxCellZ; z++) {
+                    this.collectCell(x, y, z, stamp, out);
+                }
+            }
+        }
+        IntArrays.quickSort(out.elements(), 0, out.size());
+    }
+
+    private void collectCell(int x, int y, int z, int stamp, IntArrayList out) {
+        IntArrayList list = this.cells.get(key(x, y, z));
+        if (list == null) {
+            return;
+        }
+        for (int i = 0, size = list.size(); i < size; i++) {
+            int index = list.getInt(i);
+            if (this.queryStamps[index] != stamp) {
+                this.queryStamps[index] = stamp;
+                out.add(index);
+            }
+        }
+    }
+
+    /**
+     * @return The entry with the given index.
+     */
+    public T get(int index) {
+        return this.entries.get(index);
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate * this.inverseCellSize);
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((x & COORDINATE_MASK) << (2 * COORDINATE_BITS)) | ((y & COORDINATE_MASK) << COORDINATE_BITS) | (z & COORDINATE_MASK);
+    }
+}
@@ -0,0 +1,101 @@
+package jak0bw.daggercrafting.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import jak0bw.daggercrafting.item.DaggerItem;
+import jak0bw.daggercrafting.item.VolleySpread;
+import jak0bw.daggercrafting.metrics.DaggerMetrics;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.entity.projectile.PersistentProjectileEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+
+import java.util.List;
+
+/**
+ * Operator commands for testing and monitoring daggers on a server.
+ */
+public final class DaggerCommands {
+    private static final int MAX_VOLLEY_SIZE = 256;
+
+    private DaggerCommands() {
+    }
+
+    /**
+     * Registers the dagger commands.
+     * Should be called during mod initialization.
+     */
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
+            registerVolley(dispatcher);
+            registerStats(dispatcher);
+        });
+    }
+
+    /**
+     * {@code /daggervolley <count> [arc]}: throws a volley of the dagger in the player's main hand,
+     * without using up the held stack. It still takes durability, and none of the thrown daggers can be
+     * picked up by survival players.
+     */
+    private static void registerVolley(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("daggervolley")
+            .requires(source -> source.hasPermissionLevel(2))
+            .then(CommandManager.argument("count", IntegerArgumentType.integer(1, MAX_VOLLEY_SIZE))
+                .executes(context -> volley(context, VolleySpread.MULTISHOT.arcDegrees()))
+                .then(CommandManager.argument("arc", FloatArgumentType.floatArg(0.0F, 360.0F))
+                    .executes(context -> volley(context, FloatArgumentType.getFloat(context, "arc"))))));
+    }
+
+    /**
+     * {@code /daggerstats [reset]}: shows the live dagger counts and event latencies per material,
+     * or clears the recorded events.
+     */
+    private static void registerStats(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("daggerstats")
+            .requires(source -> source.hasPermissionLevel(2))
+            .executes(context -> {
+                ServerCommandSource source = context.getSource();
+                List<String> lines = DaggerMetrics.describe(source.getServer());
+                for (String line : lines) {
+                    source.sendFeedback(() -> Text.literal(line), false);
+                }
+                return lines.size();
+            })
+            .then(CommandManager.literal("reset")
+                .executes(context -> {
+                    DaggerMetrics.reset();
+                    context.getSource().sendFeedback(() -> Text.literal("Dagger metrics reset."), true);
+                    return 1;
+                })));
+    }
+
+    private static int volley(CommandContext<ServerCommandSource> context, float arc) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        ServerPlayerEntity player = source.getPlayerOrThrow();
+        ItemStack stack = player.getMainHandStack();
+        if (!(stack.getItem() instanceof DaggerItem daggerItem)) {
+            source.sendError(Text.literal("Hold a dagger in your main hand to throw a volley."));
+            return 0;
+        }
+        if (stack.willBreakNextUse()) {
+            source.sendError(Text.literal("The held dagger would break."));
+            return 0;
+        }
+        int count = IntegerArgumentType.getInteger(context, "count");
+        List<DaggerEntity> daggers = daggerItem.launchVolley(source.getWorld(), player, stack, count,
+            new VolleySpread(arc, VolleySpread.MULTISHOT.divergence()));
+        // The held stack is kept, so none of the daggers may be picked up as an extra item
+        for (DaggerEntity dagger : daggers) {
+            dagger.pickupType = PersistentProjectileEntity.PickupPermission.CREATIVE_ONLY;
+        }
+        source.sendFeedback(() -> Text.literal("Threw " + daggers.size() + " daggers."), true);
+        return daggers.size();
+    }
+}
@@ -0,0 +1,84 @@
+package jak0bw.daggercrafting.debug;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.DaggerToolMaterial;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checks at startup that every dagger material ships its item definition, model, texture, recipe and stats file.
+ * A missing file doesn't break the game, it shows up as a missing texture or a dagger that can't be crafted,
+ * so problems are reported as warnings instead of failing initialization. Only reads files from the mod's own
+ * container.
+ */
+public final class DaggerAssetCheck {
+    private DaggerAssetCheck() {
+    }
+
+    /**
+     * @return A description of each missing file, over all materials.
+     */
+    public static List<String> findMissingAssets() {
+        Optional<ModContainer> container = FabricLoader.getInstance().getModContainer(DaggerCrafting.MOD_ID);
+        if (container.isEmpty()) {
+            return List.of("mod container " + DaggerCrafting.MOD_ID);
+        }
+        List<String> missing = new ArrayList<>();
+        for (DaggerToolMaterial material : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.values()) {
+            missing.addAll(findMissingAssets(container.get(), material.getName()));
+        }
+        return missing;
+    }
+
+    private static List<String> findMissingAssets(ModContainer container, String name) {
+        List<String> missing = new ArrayList<>();
+        String ns = DaggerCrafting.MOD_ID;
+        checkExists(container, "assets/" + ns + "/items/" + name + ".json", missing);
+        checkExists(container, "data/" + ns + "/recipe/" + name + ".json", missing);
+        checkExists(container, "data/" + ns + "/dagger_material/" + name + ".json", missing);
+        String modelPath = "assets/" + ns + "/models/item/" + name + ".json";
+        Optional<Path> model = container.findPath(modelPath);
+        if (model.isEmpty()) {
+            missing.add(modelPath);
+            return missing;
+        }
+        String texture = readTexture(model.get());
+        if (texture != null && texture.startsWith(ns + ":")) {
+            checkExists(container, "assets/" + ns + "/textures/" + texture.substring(ns.length() + 1) + ".png", missing);
+        }
+        return missing;
+    }
+
+    private static void checkExists(ModContainer container, String path, List<String> missing) {
+        if (container.findPath(path).isEmpty()) {
+            missing.add(path);
+        }
+    }
+
+    /**
+     * @return The {@code layer0} texture of an item model, or null if it has none or can't be read.
+     */
+    private static String readTexture(Path model) {
+        try (Reader reader = Files.newBufferedReader(model)) {
+            JsonElement json = JsonParser.parseReader(reader);
+            if (json.isJsonObject() && json.getAsJsonObject().get("textures") instanceof JsonObject textures
+                && textures.get("layer0") != null) {
+                return textures.get("layer0").getAsString();
+            }
+        } catch (IOException | RuntimeException e) {
+            DaggerCrafting.LOGGER.warn("Failed to read dagger model {}", model, e);
+        }
+        return null;
+    }
+}
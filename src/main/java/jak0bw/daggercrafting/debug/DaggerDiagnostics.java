@@ -0,0 +1,75 @@
+package jak0bw.daggercrafting.debug;
+
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Level-gated diagnostics for the dagger hot paths, built on {@link DaggerCrafting#LOGGER}.
+ *
+ * Messages are passed as suppliers and only built when their {@link DiagnosticCategory} is enabled, so a
+ * disabled category costs a single volatile read. When the asynchronous sink is enabled, built messages are
+ * handed to a ring buffer drained by a daemon thread, so enabled tracing never does console I/O on the tick thread.
+ */
+public final class DaggerDiagnostics {
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private static DiagnosticRingBuffer buffer;
+
+    private DaggerDiagnostics() {
+    }
+
+    /**
+     * Reads the category toggles and sink settings from the config and starts the async sink if requested.
+     * Should be called during mod initialization, after the config is loaded.
+     */
+    public static void init() {
+        boolean anyEnabled = false;
+        for (DiagnosticCategory category : DiagnosticCategory.values()) {
+            category.setEnabled(DaggerCraftingConfig.getBoolean("diagnostics." + category.getName(), false));
+            anyEnabled |= category.isEnabled();
+        }
+        if (anyEnabled && DaggerCraftingConfig.getBoolean("diagnostics.async", true)) {
+            buffer = new DiagnosticRingBuffer(DaggerCraftingConfig.getInt("diagnostics.bufferSize", 4096));
+            Thread drain = new Thread(DaggerDiagnostics::drain, "DaggerCrafting Diagnostics");
+            drain.setDaemon(true);
+            drain.start();
+        }
+    }
+
+    /**
+     * Logs a diagnostic message if its category is enabled.
+     * @param category The category of the message.
+     * @param message Supplies the message; only invoked if the category is enabled.
+     */
+    public static void trace(DiagnosticCategory category, Supplier<String> message) {
+        if (!category.isEnabled()) {
+            return;
+        }
+        String text = "[" + category.getName() + "] " + message.get();
+        DiagnosticRingBuffer sink = buffer;
+        if (sink == null) {
+            DaggerCrafting.LOGGER.info(text);
+        } else {
+            sink.offer(text);
+        }
+    }
+
+    private static void drain() {
+        DiagnosticRingBuffer sink = buffer;
+        while (true) {
+            String message = sink.poll();
+            if (message != null) {
+                DaggerCrafting.LOGGER.info(message);
+                continue;
+            }
+            long dropped = sink.takeDropped();
+            if (dropped > 0) {
+                DaggerCrafting.LOGGER.warn("Dropped " + dropped + " diagnostic messages, consider raising diagnostics.bufferSize");
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+}
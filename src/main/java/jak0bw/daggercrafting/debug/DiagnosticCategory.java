@@ -0,0 +1,35 @@
+package jak0bw.daggercrafting.debug;
+
+/**
+ * Categories of dagger diagnostics that can be toggled independently.
+ * Each category is off by default and enabled through {@code diagnostics.<name>=true} in the config file.
+ */
+public enum DiagnosticCategory {
+    /**
+     * Dagger entity construction, default stacks and material resolution.
+     */
+    SPAWN("spawn"),
+    /**
+     * Entity hits, damage and knockback.
+     */
+    HIT("hit"),
+    /**
+     * Loyalty return motion.
+     */
+    RETURN("return"),
+    /**
+     * Client/server position and velocity synchronization.
+     */
+    SYNC("sync");
+
+    private final String name;
+    private volatile boolean enabled;
+
+    DiagnosticCategory(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return this.name; }
+    public boolean isEnabled() { return this.enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+}
@@ -0,0 +1,86 @@
+package jak0bw.daggercrafting.debug;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer single-consumer ring buffer of diagnostic messages.
+ * Producers never block: when the buffer is full the message is dropped and counted instead.
+ */
+final class DiagnosticRingBuffer {
+    private final AtomicReferenceArray<String> messages;
+    /**
+     * Per-slot sequence numbers, used to hand slots between producers and the consumer.
+     */
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    /**
+     * Read position, only touched by the consumer thread.
+     */
+    private long head;
+
+    /**
+     * @param capacity The requested capacity, rounded up to the next power of two.
+     */
+    DiagnosticRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.messages = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds a message without blocking.
+     * @param message The message to add.
+     * @return False if the buffer was full and the message was dropped.
+     */
+    boolean offer(String message) {
+        long position = this.tail.get();
+        while (true) {
+            int index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.messages.set(index, message);
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                this.dropped.incrementAndGet();
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest message. Must only be called from the consumer thread.
+     * @return The oldest message, or null if the buffer is empty.
+     */
+    String poll() {
+        int index = (int) (this.head & this.mask);
+        if (this.sequences.get(index) != this.head + 1) {
+            return null;
+        }
+        String message = this.messages.get(index);
+        this.messages.set(index, null);
+        this.sequences.set(index, this.head + this.mask + 1);
+        this.head++;
+        return message;
+    }
+
+    /**
+     * Returns and resets the number of dropped messages.
+     */
+    long takeDropped() {
+        return this.dropped.getAndSet(0);
+    }
+}
@@ -0,0 +1,39 @@
+package jak0bw.daggercrafting.debug;
+
+import jak0bw.daggercrafting.DaggerCrafting;
+
+import java.util.Locale;
+
+/**
+ * Times the phases of mod initialization and reports them as a single log line, so modpack authors can see
+ * what the mod adds to startup.
+ */
+public final class StartupProfiler {
+    private final long start = System.nanoTime();
+    private final StringBuilder phases = new StringBuilder();
+
+    /**
+     * Runs and times one phase of initialization.
+     * @param name The name of the phase in the report.
+     * @param action The work of the phase.
+     */
+    public void phase(String name, Runnable action) {
+        long phaseStart = System.nanoTime();
+        action.run();
+        if (!this.phases.isEmpty()) {
+            this.phases.append(", ");
+        }
+        this.phases.append(name).append(' ').append(formatMillis(System.nanoTime() - phaseStart));
+    }
+
+    /**
+     * Logs the total time since this profiler was created, followed by the time of each phase.
+     */
+    public void report() {
+        DaggerCrafting.LOGGER.info("Initialized in {} ({})", formatMillis(System.nanoTime() - this.start), this.phases);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0);
+    }
+}
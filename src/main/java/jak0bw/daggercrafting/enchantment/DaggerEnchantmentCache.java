@@ -0,0 +1,115 @@
+package jak0bw.daggercrafting.enchantment;
+
+import jak0bw.daggercrafting.ModEnchantments;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.ItemEnchantmentsComponent;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Resolved registry entry of the Throwing Speed enchantment, scoped to one registry manager. Loyalty, Flame and
+ * Fire Aspect are not looked up by entry: they act through their enchantment effects, like on vanilla items.
+ * One cache is kept for the logical server and one for the client; each is rebuilt lazily whenever the
+ * world's registry manager changes and dropped on datapack reload.
+ *
+ * The cache also memoizes the throw velocity multiplier per enchantment component. Item stack components
+ * are immutable and shared between copies, so repeated throws of an unchanged stack hit the memo by identity.
+ */
+public final class DaggerEnchantmentCache {
+    /**
+     * Number of memo slots, must be a power of two.
+     */
+    private static final int MEMO_SIZE = 64;
+
+    private static volatile DaggerEnchantmentCache server;
+    private static volatile DaggerEnchantmentCache client;
+
+    private final DynamicRegistryManager registryManager;
+    @Nullable private final RegistryEntry<Enchantment> throwingSpeed;
+    /**
+     * Direct-mapped memo of enchantment component to throw velocity multiplier.
+     */
+    private final ThrowSpeedMemo[] throwSpeedMemo = new ThrowSpeedMemo[MEMO_SIZE];
+
+    private DaggerEnchantmentCache(DynamicRegistryManager registryManager) {
+        Registry<Enchantment> registry = registryManager.getOrThrow(RegistryKeys.ENCHANTMENT);
+        this.registryManager = registryManager;
+        this.throwingSpeed = resolve(registry, ModEnchantments.THROWING_SPEED);
+    }
+
+    @Nullable
+    private static RegistryEntry<Enchantment> resolve(Registry<Enchantment> registry, RegistryKey<Enchantment> key) {
+        return registry.getEntry(key.getValue()).orElse(null);
+    }
+
+    /**
+     * Gets the cache for the registries of the given world, rebuilding it if the registries changed.
+     * @param world The world whose registries should be used.
+     * @return The cache for this world's side.
+     */
+    public static DaggerEnchantmentCache of(World world) {
+        DynamicRegistryManager registryManager = world.getRegistryManager();
+        DaggerEnchantmentCache cache = world.isClient ? client : server;
+        if (cache == null || cache.registryManager != registryManager) {
+            cache = new DaggerEnchantmentCache(registryManager);
+            if (world.isClient) {
+                client = cache;
+            } else {
+                server = cache;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Drops the server cache whenever datapacks are reloaded or the server stops.
+     * Should be called during mod initialization.
+     */
+    public static void registerReloadListeners() {
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((minecraftServer, resourceManager, success) -> server = null);
+        ServerLifecycleEvents.SERVER_STOPPED.register(minecraftServer -> server = null);
+    }
+
+    @Nullable public RegistryEntry<Enchantment> getThrowingSpeed() { return this.throwingSpeed; }
+
+    /**
+     * Gets the throw velocity multiplier granted by the Throwing Speed enchantment on the given stack.
+     * Level I gives 1.5x and every further level adds 0.25x.
+     * @param stack The dagger stack being thrown.
+     * @return The velocity multiplier, 1.0 if the stack does not have Throwing Speed.
+     */
+    public float getThrowSpeedMultiplier(ItemStack stack) {
+        ItemEnchantmentsComponent enchantments = stack.getOrDefault(DataComponentTypes.ENCHANTMENTS, ItemEnchantmentsComponent.DEFAULT);
+        int slot = System.identityHashCode(enchantments) & (MEMO_SIZE - 1);
+        ThrowSpeedMemo memo = this.throwSpeedMemo[slot];
+        if (memo != null && memo.enchantments == enchantments) {
+            return memo.multiplier;
+        }
+        int level = this.throwingSpeed != null ? enchantments.getLevel(this.throwingSpeed) : 0;
+        float multiplier = getThrowSpeedMultiplier(level);
+        this.throwSpeedMemo[slot] = new ThrowSpeedMemo(enchantments, multiplier);
+        return multiplier;
+    }
+
+    /**
+     * @param throwingSpeedLevel The Throwing Speed enchantment level.
+     * @return The throw velocity multiplier for this level.
+     */
+    public static float getThrowSpeedMultiplier(int throwingSpeedLevel) {
+        if (throwingSpeedLevel <= 0) {
+            return 1.0f;
+        }
+        return 1.5f + (throwingSpeedLevel - 1) * 0.25f;
+    }
+
+    private record ThrowSpeedMemo(ItemEnchantmentsComponent enchantments, float multiplier) {
+    }
+}
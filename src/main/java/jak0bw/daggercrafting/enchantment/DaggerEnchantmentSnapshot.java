@@ -0,0 +1,96 @@
+package jak0bw.daggercrafting.enchantment;
+
+import net.minecraft.component.ComponentMap;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.EnchantmentEffectComponentTypes;
+import net.minecraft.component.type.ItemEnchantmentsComponent;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.entry.RegistryEntry;
+
+/**
+ * Immutable summary of which enchantment effects a thrown dagger's stack carries.
+ *
+ * {@link EnchantmentHelper} walks every enchantment on the stack for each query, even when none of them has the
+ * queried effect. Effects can depend on the world, the target and random rolls, so their results can't be cached;
+ * but when no enchantment on the stack has an effect, the helper returns its input unchanged. The snapshot records
+ * that presence once, so callers skip the helper exactly in the cases where it would be a no-op.
+ *
+ * A snapshot belongs to one enchantments component. Stacks share the component instance when copied, so
+ * {@link #isFor(ItemStack)} is an identity check.
+ */
+public final class DaggerEnchantmentSnapshot {
+    private static final DaggerEnchantmentSnapshot NONE = new DaggerEnchantmentSnapshot(ItemEnchantmentsComponent.DEFAULT, false, false, false, false);
+
+    private final ItemEnchantmentsComponent source;
+    private final boolean damage;
+    private final boolean knockback;
+    private final boolean hitBlock;
+    private final boolean returnAcceleration;
+
+    private DaggerEnchantmentSnapshot(ItemEnchantmentsComponent source, boolean damage, boolean knockback, boolean hitBlock, boolean returnAcceleration) {
+        this.source = source;
+        this.damage = damage;
+        this.knockback = knockback;
+        this.hitBlock = hitBlock;
+        this.returnAcceleration = returnAcceleration;
+    }
+
+    /**
+     * Records the enchantment effects present on a stack.
+     */
+    public static DaggerEnchantmentSnapshot of(ItemStack stack) {
+        ItemEnchantmentsComponent enchantments = stack.getOrDefault(DataComponentTypes.ENCHANTMENTS, ItemEnchantmentsComponent.DEFAULT);
+        if (enchantments.isEmpty()) {
+            return enchantments == NONE.source ? NONE : new DaggerEnchantmentSnapshot(enchantments, false, false, false, false);
+        }
+        boolean damage = false;
+        boolean knockback = false;
+        boolean hitBlock = false;
+        boolean returnAcceleration = false;
+        for (RegistryEntry<Enchantment> entry : enchantments.getEnchantments()) {
+            ComponentMap effects = entry.value().effects();
+            damage |= effects.contains(EnchantmentEffectComponentTypes.DAMAGE);
+            knockback |= effects.contains(EnchantmentEffectComponentTypes.KNOCKBACK);
+            hitBlock |= effects.contains(EnchantmentEffectComponentTypes.HIT_BLOCK);
+            returnAcceleration |= effects.contains(EnchantmentEffectComponentTypes.TRIDENT_RETURN_ACCELERATION);
+        }
+        return new DaggerEnchantmentSnapshot(enchantments, damage, knockback, hitBlock, returnAcceleration);
+    }
+
+    /**
+     * @return True if this snapshot was taken from the stack's current enchantments.
+     */
+    public boolean isFor(ItemStack stack) {
+        return stack.getOrDefault(DataComponentTypes.ENCHANTMENTS, ItemEnchantmentsComponent.DEFAULT) == this.source;
+    }
+
+    /**
+     * @return Whether {@link EnchantmentHelper#getDamage} can change the damage.
+     */
+    public boolean hasDamageEffects() {
+        return this.damage;
+    }
+
+    /**
+     * @return Whether {@link EnchantmentHelper#modifyKnockback} can change the knockback.
+     */
+    public boolean hasKnockbackEffects() {
+        return this.knockback;
+    }
+
+    /**
+     * @return Whether {@link EnchantmentHelper#onHitBlock} has anything to apply.
+     */
+    public boolean hasHitBlockEffects() {
+        return this.hitBlock;
+    }
+
+    /**
+     * @return Whether {@link EnchantmentHelper#getTridentReturnAcceleration} can be above zero.
+     */
+    public boolean hasReturnAcceleration() {
+        return this.returnAcceleration;
+    }
+}
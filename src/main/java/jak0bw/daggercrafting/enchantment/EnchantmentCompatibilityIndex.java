@@ -0,0 +1,139 @@
+package jak0bw.daggercrafting.enchantment;
+
+import jak0bw.daggercrafting.ModEnchantments;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.Enchantments;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precomputed table of the enchantments that daggers accept on top of their datapack definitions.
+ * The table is rebuilt from the enchantment registry whenever it is (re)loaded and published as an
+ * immutable snapshot, so the {@code EnchantmentMixin} checks are a single lock-free identity lookup.
+ */
+public final class EnchantmentCompatibilityIndex {
+    /**
+     * Usage flag for {@code Enchantment.isAcceptableItem} (anvil combining).
+     */
+    public static final int ACCEPTABLE = 1;
+    /**
+     * Usage flag for {@code Enchantment.isPrimaryItem} (enchanting table).
+     */
+    public static final int PRIMARY = 2;
+
+    /**
+     * Enchantments allowed on daggers and the usages they are allowed for.
+     * All dagger materials share this list, so the table is keyed by enchantment only.
+     */
+    private static final Map<RegistryKey<Enchantment>, Integer> DAGGER_ENCHANTMENTS = new LinkedHashMap<>();
+
+    /**
+     * Snapshot built from the server's enchantment registry.
+     */
+    private static volatile Map<Enchantment, Integer> serverTable = Map.of();
+    /**
+     * Snapshot built from the registry the client received from the server it is connected to.
+     */
+    private static volatile Map<Enchantment, Integer> clientTable = Map.of();
+
+    private EnchantmentCompatibilityIndex() {
+    }
+
+    /**
+     * Checks whether the given enchantment is allowed on daggers for the given usage.
+     * Allocation-free: one or two identity map lookups against the current snapshots.
+     * @param enchantment The enchantment being checked.
+     * @param usage {@link #ACCEPTABLE} or {@link #PRIMARY}.
+     * @return True if the enchantment is allowed on daggers for this usage.
+     */
+    public static boolean allows(Enchantment enchantment, int usage) {
+        return allows(serverTable, enchantment, usage) || allows(clientTable, enchantment, usage);
+    }
+
+    /**
+     * Lookup kernel shared by both snapshots.
+     * @param table An identity keyed table of enchantment to usage flags.
+     * @param enchantment The enchantment being checked.
+     * @param usage The usage flag to test.
+     * @return True if the table allows the enchantment for this usage.
+     */
+    static boolean allows(Map<?, Integer> table, Object enchantment, int usage) {
+        Integer flags = table.get(enchantment);
+        return flags != null && (flags & usage) != 0;
+    }
+
+    /**
+     * Builds an identity keyed table for the given enchantment registry.
+     * Enchantments missing from the registry (e.g. disabled by a datapack) are skipped.
+     * @param registry The enchantment registry to resolve against.
+     * @return The immutable table of enchantment instance to usage flags.
+     */
+    public static Map<Enchantment, Integer> build(Registry<Enchantment> registry) {
+        IdentityHashMap<Enchantment, Integer> table = new IdentityHashMap<>();
+        for (Map.Entry<RegistryKey<Enchantment>, Integer> entry : DAGGER_ENCHANTMENTS.entrySet()) {
+            Enchantment enchantment = registry.get(entry.getKey());
+            if (enchantment != null) {
+                table.put(enchantment, entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(table);
+    }
+
+    /**
+     * Rebuilds the server snapshot from the given registry manager.
+     * @param registryManager The server's dynamic registry manager.
+     */
+    public static void rebuildServer(DynamicRegistryManager registryManager) {
+        serverTable = build(registryManager.getOrThrow(RegistryKeys.ENCHANTMENT));
+    }
+
+    /**
+     * Rebuilds the client snapshot from the given registry manager.
+     * @param registryManager The registries received from the server.
+     */
+    public static void rebuildClient(DynamicRegistryManager registryManager) {
+        clientTable = build(registryManager.getOrThrow(RegistryKeys.ENCHANTMENT));
+    }
+
+    /**
+     * Drops the client snapshot, e.g. after disconnecting from a server.
+     */
+    public static void clearClient() {
+        clientTable = Map.of();
+    }
+
+    /**
+     * Registers the server lifecycle hooks that keep the server snapshot in sync with the registry.
+     * Should be called during mod initialization.
+     */
+    public static void registerReloadListeners() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> rebuildServer(server.getRegistryManager()));
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                rebuildServer(server.getRegistryManager());
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> serverTable = Map.of());
+    }
+
+    static {
+        int both = ACCEPTABLE | PRIMARY;
+        DAGGER_ENCHANTMENTS.put(Enchantments.FLAME, both);
+        DAGGER_ENCHANTMENTS.put(Enchantments.FIRE_ASPECT, both);
+        DAGGER_ENCHANTMENTS.put(ModEnchantments.THROWING_SPEED, both);
+        DAGGER_ENCHANTMENTS.put(Enchantments.LOYALTY, both);
+        DAGGER_ENCHANTMENTS.put(Enchantments.UNBREAKING, both);
+        DAGGER_ENCHANTMENTS.put(Enchantments.SHARPNESS, both);
+        DAGGER_ENCHANTMENTS.put(Enchantments.SMITE, both);
+        DAGGER_ENCHANTMENTS.put(Enchantments.BANE_OF_ARTHROPODS, both);
+        DAGGER_ENCHANTMENTS.put(Enchantments.MENDING, ACCEPTABLE);
+    }
+}
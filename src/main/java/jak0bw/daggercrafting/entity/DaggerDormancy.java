@@ -0,0 +1,82 @@
+package jak0bw.daggercrafting.entity;
+
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.debug.DaggerDiagnostics;
+import jak0bw.daggercrafting.debug.DiagnosticCategory;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+/**
+ * Settings and monitoring counters for dormant daggers.
+ *
+ * A dagger that is stuck in the ground, has dealt its damage and has no owner to return to goes dormant on the
+ * server: instead of the full projectile tick it only checks whether the block it is stuck in changed, keeps
+ * aging, and rechecks its Loyalty owner every {@link #OWNER_CHECK_INTERVAL_TICKS} ticks. Any of these wakes it
+ * up again. Daggers on fire or in water stay active, since those need the regular entity tick. Picking a dagger
+ * up is driven by the player's tick and works the same for dormant daggers.
+ *
+ * All methods are called from the server thread only.
+ */
+public final class DaggerDormancy {
+    /**
+     * Ticks a grounded dagger stays active before it may go dormant.
+     */
+    static final int SETTLE_TICKS = 20;
+    /**
+     * Interval at which dormant Loyalty daggers check whether their owner is back.
+     */
+    static final int OWNER_CHECK_INTERVAL_TICKS = 20;
+    private static final int STATS_LOG_INTERVAL_TICKS = 1200;
+
+    private static boolean enabled = true;
+    private static int dormantThisTick;
+    private static int activeThisTick;
+    private static int dormantCount;
+    private static int activeCount;
+    private static int ticks;
+
+    private DaggerDormancy() {
+    }
+
+    /**
+     * Reads the dormancy setting and registers the per-tick counter rollover.
+     * Should be called during mod initialization.
+     */
+    public static void register() {
+        enabled = DaggerCraftingConfig.getBoolean("dormancy.enabled", true);
+        ServerTickEvents.START_SERVER_TICK.register(server -> {
+            dormantCount = dormantThisTick;
+            activeCount = activeThisTick;
+            dormantThisTick = 0;
+            activeThisTick = 0;
+            if (++ticks % STATS_LOG_INTERVAL_TICKS == 0) {
+                DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "Daggers ticked: " + activeCount + " active, " + dormantCount + " dormant");
+            }
+        });
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void countDormant() {
+        dormantThisTick++;
+    }
+
+    static void countActive() {
+        activeThisTick++;
+    }
+
+    /**
+     * @return The number of dormant daggers ticked on the server during the last tick, across all worlds.
+     */
+    public static int getDormantCount() {
+        return dormantCount;
+    }
+
+    /**
+     * @return The number of daggers that ran a full tick on the server during the last tick, across all worlds.
+     */
+    public static int getActiveCount() {
+        return activeCount;
+    }
+}
@@ -1,5 +1,8 @@
 package jak0bw.daggercrafting.entity;
 
+import net.minecraft.block.BlockState;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.ItemEnchantmentsComponent;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
@@ -20,12 +23,13 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.item.SpectralArrowItem;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtOps;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundEvent;
 import net.minecraft.sound.SoundEvents;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.util.math.MathHelper;
@@ -34,13 +38,37 @@ import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 
 import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.DaggerMaterialTable;
 import jak0bw.daggercrafting.DaggerToolMaterial;
 import jak0bw.daggercrafting.ModEntities;
 import jak0bw.daggercrafting.ModItems;
+import jak0bw.daggercrafting.collision.DaggerCollisionBroadPhase;
+import jak0bw.daggercrafting.debug.DaggerDiagnostics;
+import jak0bw.daggercrafting.debug.DiagnosticCategory;
+import jak0bw.daggercrafting.enchantment.DaggerEnchantmentSnapshot;
 import jak0bw.daggercrafting.item.DaggerItem;
+import jak0bw.daggercrafting.metrics.DaggerMetrics;
+import jak0bw.daggercrafting.metrics.MetricEvent;
+import jak0bw.daggercrafting.network.DaggerSyncPolicy;
+import jak0bw.daggercrafting.network.DaggerSyncState;
+import jak0bw.daggercrafting.network.DaggerTrajectoryPayload;
+import jak0bw.daggercrafting.replay.DaggerReplayRecorder;
 
 public class DaggerEntity extends PersistentProjectileEntity implements FlyingItemEntity{
 
+    private static final String NBT_VERSION_KEY = "DaggerVersion";
+    private static final String NBT_FLAGS_KEY = "DaggerFlags";
+    private static final String NBT_LOYALTY_KEY = "Loyalty";
+    private static final String NBT_DAMAGE_KEY = "ItemDamage";
+    private static final String NBT_ENCHANTMENTS_KEY = "ItemEnchantments";
+    /**
+     * Version of the NBT format written by {@link #writeCustomDataToNbt}. Version 2 added the item damage and
+     * enchantments, which version 1 data without an item never has.
+     */
+    private static final byte NBT_VERSION = 2;
+    private static final byte FLAG_DEALT_DAMAGE = 1;
+    private static final byte FLAG_ENCHANTED = 2;
+
     private static final TrackedData<Byte> LOYALTY;
     private static final TrackedData<Boolean> ENCHANTED;
     public String itemId;
@@ -56,37 +84,86 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 	 */
 	public int returnTimer;
 
+	/**
+	 * The material of this dagger, resolved from its entity type or thrown stack.
+	 */
+	private DaggerToolMaterial material;
+	/**
+	 * The ordinal of {@link #material}, for reading its stats from the {@link DaggerMaterialTable}.
+	 */
+	private int materialOrdinal;
+
     private boolean approachingTargetSoundPlayed = false;
+	/**
+	 * Scratch buffer for the velocity computed by the return step, reused every tick.
+	 */
+	private final double[] returnVelocity = new double[3];
+	/**
+	 * Server-side prediction of this dagger on the tracking clients, see {@link DaggerSyncPolicy}.
+	 */
+	private final DaggerSyncState syncState = new DaggerSyncState();
+	/**
+	 * Client only: whether this dagger is simulated locally from a trajectory seed sent by the server.
+	 */
+	private boolean trajectorySeeded;
+	/**
+	 * Client only: cached render rotation, created on first render.
+	 */
+	@Nullable
+	private DaggerRenderCache renderCache;
+	/**
+	 * Whether this dagger is registered with the {@link DaggerPopulationManager} as grounded.
+	 */
+	boolean populationTracked;
+	/**
+	 * Which enchantment effects the thrown stack carries, see {@link DaggerEnchantmentSnapshot}.
+	 */
+	@Nullable
+	private DaggerEnchantmentSnapshot enchantmentSnapshot;
+	/**
+	 * Server only: whether this dagger skips its full tick, see {@link DaggerDormancy}.
+	 */
+	private boolean dormant;
+	/**
+	 * The state of the block this dagger is stuck in when it went dormant.
+	 */
+	@Nullable
+	private BlockState dormantBlockState;
+	private int dormantTicks;
     private static final int APPROACH_SOUND_THRESHOLD_TICKS = 5;
-    private static final double RETURN_SPEED_MULTIPLIER = 0.15;
 
 
 	public DaggerEntity(EntityType<? extends PersistentProjectileEntity> entityType, World world) {
 		super(entityType, world);
-        System.out.println("DaggerEntity Constructor 1");
-        System.out.println("DaggerEntity Constructor 1 entityType: " + entityType);
+		this.setMaterial(DaggerToolMaterial.fromEntityType(entityType));
+		DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "DaggerEntity created from type " + entityType);
 	}
 
-	@SuppressWarnings("unchecked")
 	public DaggerEntity(World world, LivingEntity owner, ItemStack stack) {
-        super((EntityType<? extends PersistentProjectileEntity>)Registries.ENTITY_TYPE.get(getIdentifierFromStack(stack)), owner, world, stack, (ItemStack)null);
-        System.out.println("DaggerEntity Constructor 2 stack: " + stack);
+        super(DaggerItem.getMaterialFromItem(stack.getItem()).getEntityType(), owner, world, stack, (ItemStack)null);
+		this.setMaterial(DaggerItem.getMaterialFromItem(stack.getItem()));
 		this.dataTracker.set(LOYALTY, this.getLoyalty(stack));
 		this.dataTracker.set(ENCHANTED, stack.hasGlint());
-        System.out.println("DaggerEntity Constructor 2");
+		DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "DaggerEntity thrown by " + owner.getName().getString() + " with stack " + stack);
 	}
 	
-	@SuppressWarnings("unchecked")
+	/**
+	 * Creates a thrown dagger with its material, loyalty and glint already resolved.
+	 * Used by volleys, which resolve these once for all of their daggers.
+	 */
+	public DaggerEntity(World world, LivingEntity owner, ItemStack stack, DaggerToolMaterial material, byte loyalty, boolean enchanted) {
+		super(material.getEntityType(), owner, world, stack, (ItemStack)null);
+		this.setMaterial(material);
+		this.dataTracker.set(LOYALTY, loyalty);
+		this.dataTracker.set(ENCHANTED, enchanted);
+	}
+
 	public DaggerEntity(World world, double x, double y, double z, ItemStack stack) {
-		super((EntityType<? extends PersistentProjectileEntity>)Registries.ENTITY_TYPE.get(getIdentifierFromStack(stack)), x, y, z, world, stack, (ItemStack)null);
-        System.out.println("DaggerEntity Constructor 3 stack: " + stack);
+		super(DaggerItem.getMaterialFromItem(stack.getItem()).getEntityType(), x, y, z, world, stack, (ItemStack)null);
+		this.setMaterial(DaggerItem.getMaterialFromItem(stack.getItem()));
 		this.dataTracker.set(LOYALTY, this.getLoyalty(stack));
 		this.dataTracker.set(ENCHANTED, stack.hasGlint());
-        System.out.println("DaggerEntity Constructor 3");
-	}
-
-	private static Identifier getIdentifierFromStack(ItemStack stack) {
-		return Registries.ITEM.getId(stack.getItem());
+		DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "DaggerEntity spawned at " + x + ", " + y + ", " + z + " with stack " + stack);
 	}
 
     @Override
@@ -102,6 +179,22 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 
         
 	public void tick() {
+		if (this.dormant && this.tickDormant()) {
+			return;
+		}
+		if (!DaggerMetrics.isEnabled() || this.getWorld().isClient) {
+			this.tickActive();
+			return;
+		}
+		long start = System.nanoTime();
+		this.tickActive();
+		DaggerMetrics.record(MetricEvent.TICK, this.materialOrdinal, System.nanoTime() - start);
+	}
+
+	/**
+	 * The full tick of a dagger that is not dormant.
+	 */
+	private void tickActive() {
 		if (this.inGroundTime > 4) {
 			this.dealtDamage = true;
 		}
@@ -121,17 +214,24 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 
 				this.discard();
 			} else {
-				if (!(entity instanceof PlayerEntity)
-						&& this.getPos().distanceTo(entity.getEyePos()) < (double) entity.getWidth() + 1.0) {
+				// Offset to the owner's eyes, computed once on primitives for both the arrival check and the return step
+				double toTargetX = entity.getX() - this.getX();
+				double toTargetY = entity.getEyeY() - this.getY();
+				double toTargetZ = entity.getZ() - this.getZ();
+				double distance = Math.sqrt(toTargetX * toTargetX + toTargetY * toTargetY + toTargetZ * toTargetZ);
+				if (!(entity instanceof PlayerEntity) && distance < (double) entity.getWidth() + 1.0) {
 					this.discard();
 					return;
 				}
 
 				this.setNoClip(true);
-				this.applyLinearReturnMotion(entity, i);
-
-				// Predict time to target and play sound if needed
-				double timeToTarget = this.predictTimeToTarget(entity);
+				// Move towards the owner and predict the time to reach them, to play the sound if needed
+				boolean timed = DaggerMetrics.isEnabled() && !this.getWorld().isClient;
+				long returnStart = timed ? System.nanoTime() : 0L;
+				double timeToTarget = this.applyReturnStep(toTargetX, toTargetY, toTargetZ, distance, i);
+				if (timed) {
+					DaggerMetrics.record(MetricEvent.RETURN, this.materialOrdinal, System.nanoTime() - returnStart);
+				}
 				float basePitch = 0.8f;
 				float shiftUpFactor = 1.0F + 0.5F * (float)i;
 				if (timeToTarget < APPROACH_SOUND_THRESHOLD_TICKS && !approachingTargetSoundPlayed) {
@@ -141,6 +241,7 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 
 				if (this.returnTimer == 0) {
 					this.playSound(SoundEvents.BLOCK_ENCHANTMENT_TABLE_USE, 0.7F, basePitch);
+					DaggerDiagnostics.trace(DiagnosticCategory.RETURN, () -> "DaggerEntity " + this.getId() + " returning with loyalty " + i + " from " + distance + " blocks");
 				}
 				this.returnTimer++;
 			}
@@ -152,8 +253,8 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
         if (!this.isInGround()) {
             Vec3d velocity = this.getVelocity();
             if (velocity.lengthSquared() > 0.0001) {
-                float yaw = (float)Math.toDegrees(MathHelper.atan2(velocity.x, velocity.z));
-                float pitch = (float)Math.toDegrees(MathHelper.atan2(velocity.y, velocity.horizontalLength()));
+                float yaw = DaggerMotion.yawDegrees(velocity.x, velocity.z);
+                float pitch = DaggerMotion.pitchDegrees(velocity.x, velocity.y, velocity.z);
                 if (this.returnTimer > 0) {
                     // Flip 180 degrees for hilt-first return
                     yaw += 180.0f;
@@ -165,23 +266,70 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
             }
         }
 
-        // Dynamic synchronization based on velocity
-        if (!this.getWorld().isClient) {
-            double velocitySquared = this.getVelocity().lengthSquared();
-            // Force sync more frequently as speed increases
-            // Base threshold: 1.0 blocks/tick, increases sync frequency with speed
-            if (velocitySquared > 2.0) {
-                this.velocityModified = true; // Force position sync to clients
-                
-                // For very high speeds, force more frequent updates
-                if (velocitySquared > 8.0) { // > 4.0 blocks/tick
-                    this.velocityDirty = true; // Force velocity sync every tick
+        if (this.getWorld() instanceof ServerWorld serverWorld) {
+            DaggerDormancy.countActive();
+            if (!this.populationTracked && this.isInGround()) {
+                DaggerPopulationManager.track(this, serverWorld);
+            }
+            if (this.canGoDormant()) {
+                this.dormant = true;
+                this.dormantBlockState = serverWorld.getBlockState(this.getBlockPos());
+                this.dormantTicks = 0;
+            }
+
+            // Adaptive synchronization: only force updates when clients would drift too far from the real path
+            long syncStart = DaggerMetrics.isEnabled() ? System.nanoTime() : 0L;
+            int sync = DaggerSyncPolicy.update(this, this.syncState);
+            if (sync == DaggerSyncPolicy.SYNC_TRAJECTORY) {
+                DaggerTrajectoryPayload.sendToTracking(this);
+            } else if (sync != DaggerSyncPolicy.NO_SYNC) {
+                this.velocityModified = true;
+                if (sync == DaggerSyncPolicy.SYNC_FULL) {
+                    this.velocityDirty = true;
                 }
             }
+            if (sync != DaggerSyncPolicy.NO_SYNC && DaggerMetrics.isEnabled()) {
+                DaggerMetrics.record(MetricEvent.SYNC, this.materialOrdinal, System.nanoTime() - syncStart);
+            }
+            if (DaggerReplayRecorder.isSampled(this)) {
+                DaggerReplayRecorder.record(this);
+            }
         }
 
 	}
 
+	/**
+	 * Whether this dagger can stop running its full tick, see {@link DaggerDormancy}.
+	 */
+	private boolean canGoDormant() {
+		return DaggerDormancy.isEnabled()
+				&& this.isInGround()
+				&& this.dealtDamage
+				&& this.inGroundTime > DaggerDormancy.SETTLE_TICKS
+				&& this.getFireTicks() <= 0
+				&& !this.isTouchingWater()
+				&& !((Byte) this.dataTracker.get(LOYALTY) > 0 && this.getOwner() != null);
+	}
+
+	/**
+	 * Runs the tick of a dormant dagger: the grounded part of the projectile tick, plus the wake-up checks.
+	 * @return True if the dagger stays dormant, false if it woke up and needs a full tick.
+	 */
+	private boolean tickDormant() {
+		boolean ownerCheck = ++this.dormantTicks % DaggerDormancy.OWNER_CHECK_INTERVAL_TICKS == 0;
+		if (this.getWorld().getBlockState(this.getBlockPos()) != this.dormantBlockState
+				|| this.getFireTicks() > 0
+				|| ownerCheck && (Byte) this.dataTracker.get(LOYALTY) > 0 && this.getOwner() != null) {
+			this.dormant = false;
+			this.dormantBlockState = null;
+			return false;
+		}
+		this.inGroundTime++;
+		this.age();
+		DaggerDormancy.countDormant();
+		return true;
+	}
+
 	private boolean isOwnerAlive() {
 		Entity entity = this.getOwner();
 		if (entity != null && entity.isAlive()) {
@@ -191,33 +339,97 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 		}
 	}
 
+	@Override
+	public boolean isInGround() {
+		return super.isInGround();
+	}
+
 	public boolean isEnchanted() {
 		return (Boolean) this.dataTracker.get(ENCHANTED);
 	}
 
 	@Nullable
 	protected EntityHitResult getEntityCollision(Vec3d currentPosition, Vec3d nextPosition) {
-		return this.dealtDamage ? null : super.getEntityCollision(currentPosition, nextPosition);
+		if (this.dealtDamage) {
+			return null;
+		}
+		if (this.getWorld() instanceof ServerWorld serverWorld) {
+			return DaggerCollisionBroadPhase.getEntityCollision(this, serverWorld, currentPosition, nextPosition,
+				this::canHit, () -> super.getEntityCollision(currentPosition, nextPosition));
+		}
+		return super.getEntityCollision(currentPosition, nextPosition);
+	}
+
+	/**
+	 * @return This dagger's render cache, created on first use. Client only.
+	 */
+	public DaggerRenderCache getRenderCache() {
+		if (this.renderCache == null) {
+			this.renderCache = new DaggerRenderCache();
+		}
+		return this.renderCache;
+	}
+
+	/**
+	 * @return Whether this dagger is flying back to its owner through Loyalty.
+	 */
+	public boolean isReturning() {
+		return this.returnTimer > 0;
+	}
+
+	/**
+	 * @return Whether this dagger has hit something and won't deal damage again.
+	 */
+	public boolean hasDealtDamage() {
+		return this.dealtDamage;
+	}
+
+	/**
+	 * @return Whether this dagger is dormant, see {@link DaggerDormancy}.
+	 */
+	public boolean isDormant() {
+		return this.dormant;
+	}
+
+	/**
+	 * @return The Loyalty level of this dagger, as resolved from its stack.
+	 */
+	public byte getLoyaltyLevel() {
+		return this.dataTracker.get(LOYALTY);
+	}
+
+	private void setMaterial(@Nullable DaggerToolMaterial material) {
+		this.material = material != null ? material : DaggerToolMaterial.getFallback();
+		this.materialOrdinal = this.material.getOrdinal();
 	}
 
 	public DaggerToolMaterial getMaterial() {
-		ItemStack itemStack = this.getItemStack();
-		Item itemRef = itemStack.getItem();
-		return DaggerItem.getMaterialFromItem(itemRef);
+		return this.material;
 	}
 
 	@Override
 	protected void onEntityHit(EntityHitResult entityHitResult) {
+		if (!DaggerMetrics.isEnabled() || this.getWorld().isClient) {
+			this.hitEntity(entityHitResult);
+			return;
+		}
+		long start = System.nanoTime();
+		this.hitEntity(entityHitResult);
+		DaggerMetrics.record(MetricEvent.HIT, this.materialOrdinal, System.nanoTime() - start);
+	}
+
+	private void hitEntity(EntityHitResult entityHitResult) {
 		Entity targetEntity = entityHitResult.getEntity();
-		DaggerToolMaterial material = this.getMaterial();
-		float damageAmount = material.getRangedDamage();
+		float damageAmount = DaggerMaterialTable.rangedDamage(this.materialOrdinal);
 
 		Entity ownerEntity = this.getOwner();
 		DamageSource damageSource = this.getDamageSources().trident(this, ownerEntity == null ? this : ownerEntity);
 
 		// 1. Damage, enchantment effects, and removal: SERVER ONLY
 		if (this.getWorld() instanceof ServerWorld serverWorld) {
-			damageAmount = EnchantmentHelper.getDamage(serverWorld, this.getWeaponStack(), targetEntity, damageSource, damageAmount);
+			if (this.getEnchantmentSnapshot(this.getWeaponStack()).hasDamageEffects()) {
+				damageAmount = EnchantmentHelper.getDamage(serverWorld, this.getWeaponStack(), targetEntity, damageSource, damageAmount);
+			}
 
 			this.dealtDamage = true;
 			if (targetEntity.damage(serverWorld, damageSource, damageAmount)) {
@@ -250,6 +462,9 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 	}
 
 	protected void onBlockHitEnchantmentEffects(ServerWorld world, BlockHitResult blockHitResult, ItemStack weaponStack) {
+		if (!this.getEnchantmentSnapshot(weaponStack).hasHitBlockEffects()) {
+			return;
+		}
 		Vec3d vec3d = blockHitResult.getBlockPos().clampToWithin(blockHitResult.getPos());
 		Entity owner = this.getOwner();
 		LivingEntity user;
@@ -265,27 +480,43 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 				});
 	}
 
+	/**
+	 * @return The enchantment snapshot of the given stack, usually this dagger's own, taken once and reused while
+	 * the stack's enchantments stay the same.
+	 */
+	private DaggerEnchantmentSnapshot getEnchantmentSnapshot(ItemStack stack) {
+		if (this.enchantmentSnapshot == null || !this.enchantmentSnapshot.isFor(stack)) {
+			this.enchantmentSnapshot = DaggerEnchantmentSnapshot.of(stack);
+		}
+		return this.enchantmentSnapshot;
+	}
+
 	public ItemStack getWeaponStack() {
 		return this.getItemStack();
 	}
 
 	protected boolean tryPickup(PlayerEntity player) {
-		return super.tryPickup(player)
-				|| this.isNoClip() && this.isOwner(player) && player.getInventory().insertStack(this.asItemStack());
+		if (super.tryPickup(player)) {
+			return true;
+		}
+		if (!this.isNoClip() || !this.isOwner(player)) {
+			return false;
+		}
+		// A returning dagger that may not be picked up (e.g. the extra daggers of a volley) vanishes at its owner
+		// instead of being handed to them
+		return this.pickupType != PickupPermission.ALLOWED || player.getInventory().insertStack(this.asItemStack());
 	}
 
 	@Override
 	protected ItemStack getDefaultItemStack() {
-		String itemPath = Registries.ENTITY_TYPE.getId(this.getType()).getPath();
-		Identifier itemId = Identifier.of(DaggerCrafting.MOD_ID, itemPath);
-		Item item = Registries.ITEM.get(itemId);
-		if (item != null && item != Items.AIR) {
-            System.out.println("DaggerEntity getDefaultItemStack item SUCCESS");
-			return new ItemStack(item);
+		// Called from the superclass constructor, so resolve from the entity type rather than this.material.
+		DaggerToolMaterial material = DaggerToolMaterial.fromEntityType(this.getType());
+		if (material != null) {
+			return new ItemStack(material.getItem());
 
 		} else {
-            System.out.println("DaggerEntity getDefaultItemStack item FAIL");
-			return new ItemStack(Registries.ITEM.get(Identifier.of(DaggerCrafting.MOD_ID, "diamond_dagger")));
+			DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "No dagger material for entity type " + this.getType() + ", defaulting to diamond_dagger");
+			return new ItemStack(DaggerToolMaterial.getFallback().getItem());
 		}
 	}
 
@@ -302,18 +533,94 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 
 	public void readCustomDataFromNbt(NbtCompound nbt) {
 		super.readCustomDataFromNbt(nbt);
-		this.dealtDamage = nbt.getBoolean("DealtDamage");
-		this.dataTracker.set(LOYALTY, this.getLoyalty(this.getItemStack()));
+		if (nbt.contains(NBT_VERSION_KEY, NbtElement.BYTE_TYPE)) {
+			byte flags = nbt.getByte(NBT_FLAGS_KEY);
+			this.dealtDamage = (flags & FLAG_DEALT_DAMAGE) != 0;
+			this.dataTracker.set(ENCHANTED, (flags & FLAG_ENCHANTED) != 0);
+			this.dataTracker.set(LOYALTY, nbt.getByte(NBT_LOYALTY_KEY));
+			if (!nbt.contains("item", NbtElement.COMPOUND_TYPE)) {
+				this.readItemDiff(nbt);
+			}
+		} else {
+			// Unversioned data from before the compact format; written back in the current format on the next save
+			this.dealtDamage = nbt.getBoolean("DealtDamage");
+			this.dataTracker.set(ENCHANTED, this.getItemStack().hasGlint());
+			this.dataTracker.set(LOYALTY, this.getLoyalty(this.getItemStack()));
+		}
 	}
 
+	/**
+	 * Writes the dagger in a compact, versioned form: flags and the resolved Loyalty level are stored as bytes,
+	 * the hit sound is left out when it is the default, and the thrown stack is stored as its damage and
+	 * enchantments when it differs from the default stack for this dagger type in nothing else.
+	 * Position and rotation are written by {@link Entity#writeNbt} and keep the vanilla format.
+	 */
 	public void writeCustomDataToNbt(NbtCompound nbt) {
 		super.writeCustomDataToNbt(nbt);
-		nbt.putBoolean("DealtDamage", this.dealtDamage);
+		this.writeItemDiff(nbt);
+		if (Registries.SOUND_EVENT.getId(this.getHitSound()).toString().equals(nbt.getString("SoundEvent"))) {
+			nbt.remove("SoundEvent");
+		}
+		byte flags = 0;
+		if (this.dealtDamage) {
+			flags |= FLAG_DEALT_DAMAGE;
+		}
+		if (this.isEnchanted()) {
+			flags |= FLAG_ENCHANTED;
+		}
+		nbt.putByte(NBT_VERSION_KEY, NBT_VERSION);
+		nbt.putByte(NBT_FLAGS_KEY, flags);
+		nbt.putByte(NBT_LOYALTY_KEY, (Byte) this.dataTracker.get(LOYALTY));
+	}
+
+	/**
+	 * Replaces the full thrown stack with its damage and enchantments, if rebuilding it from those and the
+	 * default stack gives back the same stack. Thrown daggers are always damaged, so comparing against the
+	 * default stack alone would never leave anything out.
+	 */
+	private void writeItemDiff(NbtCompound nbt) {
+		ItemStack stack = this.getItemStack();
+		ItemEnchantmentsComponent enchantments = stack.getOrDefault(DataComponentTypes.ENCHANTMENTS, ItemEnchantmentsComponent.DEFAULT);
+		ItemStack rebuilt = this.getDefaultItemStack();
+		rebuilt.setDamage(stack.getDamage());
+		rebuilt.set(DataComponentTypes.ENCHANTMENTS, enchantments);
+		if (!ItemStack.areEqual(rebuilt, stack)) {
+			return;
+		}
+		if (!enchantments.isEmpty()) {
+			NbtElement encoded = ItemEnchantmentsComponent.CODEC.encodeStart(this.getRegistryManager().getOps(NbtOps.INSTANCE), enchantments)
+				.result().orElse(null);
+			if (encoded == null) {
+				// Keep the full stack written by the superclass
+				return;
+			}
+			nbt.put(NBT_ENCHANTMENTS_KEY, encoded);
+		}
+		if (stack.getDamage() > 0) {
+			nbt.putInt(NBT_DAMAGE_KEY, stack.getDamage());
+		}
+		nbt.remove("item");
+	}
+
+	/**
+	 * Applies the damage and enchantments written by {@link #writeItemDiff} to the default stack the superclass
+	 * set up for the missing item.
+	 */
+	private void readItemDiff(NbtCompound nbt) {
+		ItemStack stack = this.getItemStack();
+		if (nbt.contains(NBT_DAMAGE_KEY, NbtElement.INT_TYPE)) {
+			stack.setDamage(nbt.getInt(NBT_DAMAGE_KEY));
+		}
+		if (nbt.contains(NBT_ENCHANTMENTS_KEY)) {
+			ItemEnchantmentsComponent.CODEC.parse(this.getRegistryManager().getOps(NbtOps.INSTANCE), nbt.get(NBT_ENCHANTMENTS_KEY))
+				.ifSuccess(enchantments -> stack.set(DataComponentTypes.ENCHANTMENTS, enchantments))
+				.ifError(error -> DaggerCrafting.LOGGER.warn("Failed to read enchantments of dagger {}: {}", this.getUuidAsString(), error.message()));
+		}
 	}
 
 	private byte getLoyalty(ItemStack stack) {
 		World world = this.getWorld();
-		if (world instanceof ServerWorld serverWorld) {
+		if (world instanceof ServerWorld serverWorld && this.getEnchantmentSnapshot(stack).hasReturnAcceleration()) {
 			return (byte) MathHelper.clamp(EnchantmentHelper.getTridentReturnAcceleration(serverWorld, stack, this), 0,
 					127);
 		} else {
@@ -321,6 +628,23 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 		}
 	}
 
+	/**
+	 * @return The number of ticks this dagger has been stuck in the ground.
+	 */
+	public int getInGroundTime() {
+		return this.inGroundTime;
+	}
+
+	/**
+	 * Removes this dagger to keep the grounded population in bounds, dropping it as an item if it could be picked up.
+	 */
+	public void expire(ServerWorld world) {
+		if (this.pickupType == PickupPermission.ALLOWED) {
+			this.dropStack(world, this.asItemStack(), 0.1F);
+		}
+		this.discard();
+	}
+
 	public void age() {
 		int i = (Byte) this.dataTracker.get(LOYALTY);
 		if (this.pickupType != PickupPermission.ALLOWED || i <= 0) {
@@ -330,79 +654,68 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 	}
 
 	protected float getDragInWater() {
-		return 0.99F;
+		// Same as air drag, which keeps the flight predictable for DaggerMotion.ballisticStep
+		return DaggerMotion.DRAG;
 	}
 
-	public boolean shouldRender(double cameraX, double cameraY, double cameraZ) {
-		return true;
+	/**
+	 * Gives players that start tracking this dagger while it flies a trajectory seed to simulate from.
+	 */
+	@Override
+	public void onStartedTrackingBy(ServerPlayerEntity player) {
+		super.onStartedTrackingBy(player);
+		DaggerSyncPolicy.startTracking(this, this.syncState, player);
+	}
+
+	/**
+	 * Client side: continues the local simulation from a trajectory seed sent by the server.
+	 * The seed is the exact server state at the end of a tick, so the client simply adopts it.
+	 */
+	public void applyTrajectorySeed(DaggerTrajectoryPayload payload) {
+		this.setPosition(payload.x(), payload.y(), payload.z());
+		this.setVelocity(payload.velocityX(), payload.velocityY(), payload.velocityZ());
+		this.trajectorySeeded = true;
 	}
 
 	/**
 	 * Override to provide better synchronization for high-speed projectiles.
-	 * This method ensures that fast-moving daggers send position updates more frequently
-	 * to prevent visual lag between client and server.
+	 * A seeded flying dagger keeps its locally simulated path as long as the regular tracker updates agree
+	 * with it; the server sends a new seed when the path really diverges. Otherwise fast-moving daggers
+	 * get fewer interpolation steps to prevent visual lag between client and server.
 	 */
 	@Override
 	public void updateTrackedPositionAndAngles(double x, double y, double z, float yaw, float pitch, int interpolationSteps) {
-		// Dynamic interpolation scaling based on velocity
-		double velocitySquared = this.getVelocity().lengthSquared();
-		double velocity = Math.sqrt(velocitySquared);
-		
-		// Scale interpolation steps inversely with velocity
-		// Faster projectiles need less interpolation for more responsive visuals
-		if (velocity > 1.0) {
-			// Reduce interpolation steps based on velocity
-			// At 2.0 blocks/tick: steps = interpolationSteps / 2
-			// At 4.0 blocks/tick: steps = interpolationSteps / 4
-			// At 8.0 blocks/tick: steps = interpolationSteps / 8
-			double reductionFactor = Math.max(1.0, velocity);
-			interpolationSteps = Math.max(1, (int)(interpolationSteps / reductionFactor));
-		}
-		
-		super.updateTrackedPositionAndAngles(x, y, z, yaw, pitch, interpolationSteps);
-	}
-
-	private void applyLinearReturnMotion(Entity target, int loyaltyLevel) {
-		Vec3d toTarget = target.getEyePos().subtract(this.getPos());
-		double distance = toTarget.length();
-
-		DaggerToolMaterial material = this.getMaterial();
-		double baseSpeed = material != null ? material.getRangedVelocity() : 1.0;
-		double maxspeed = Math.min(RETURN_SPEED_MULTIPLIER * baseSpeed * loyaltyLevel, distance);
-		double currentspeed = this.getVelocity().length();
-
-		double acceleration = 0.1 * baseSpeed * loyaltyLevel;
-		double nextSpeed;
-		if (currentspeed < maxspeed) {
-			nextSpeed = Math.min(currentspeed + acceleration, maxspeed);
-		} else if (currentspeed > maxspeed) {
-			nextSpeed = Math.max(currentspeed - acceleration, maxspeed);
-		} else {
-			nextSpeed = maxspeed;
-		}
-
-		if (distance < 0.01) {
-			this.setVelocity(Vec3d.ZERO);
+		double tolerance = DaggerSyncPolicy.getPredictionTolerance();
+		if (this.trajectorySeeded && !this.isInGround() && this.squaredDistanceTo(x, y, z) <= tolerance * tolerance) {
 			return;
 		}
 
-		// Always set velocity in the direction of the target, at the calculated speed
-		Vec3d velocity = toTarget.normalize().multiply(nextSpeed);
-		this.setVelocity(velocity);
+		// Scale interpolation steps inversely with velocity
+		// Faster projectiles need less interpolation for more responsive visuals
+		interpolationSteps = DaggerMotion.interpolationSteps(interpolationSteps, this.getVelocity().lengthSquared());
+
+		super.updateTrackedPositionAndAngles(x, y, z, yaw, pitch, interpolationSteps);
 	}
 
-	private double predictTimeToTarget(Entity target) {
-		Vec3d toTarget = target.getEyePos().subtract(this.getPos());
-		double distance = toTarget.length();
-		double speed = this.getVelocity().length();
-		if (speed < 0.0001) return Double.POSITIVE_INFINITY;
-		return distance / speed;
+	/**
+	 * Applies one tick of loyalty return motion: always sets the velocity in the direction of the target,
+	 * at the speed calculated by {@link DaggerMotion#nextReturnSpeed}. The velocity is written once.
+	 * @return The predicted number of ticks until the target is reached at the new velocity.
+	 */
+	private double applyReturnStep(double toTargetX, double toTargetY, double toTargetZ, double distance, int loyaltyLevel) {
+		double baseSpeed = DaggerMaterialTable.rangedVelocity(this.materialOrdinal);
+		double timeToTarget = DaggerMotion.returnStep(toTargetX, toTargetY, toTargetZ, distance,
+			this.getVelocity().length(), baseSpeed, loyaltyLevel, this.returnVelocity);
+		this.setVelocity(this.returnVelocity[0], this.returnVelocity[1], this.returnVelocity[2]);
+		return timeToTarget;
 	}
 
 	@Override
 	protected void knockback(LivingEntity target, DamageSource source) {
 		double baseKnockback = this.getWeaponStack() != null && this.getWorld() instanceof ServerWorld serverWorld
-			? EnchantmentHelper.modifyKnockback(serverWorld, this.getWeaponStack(), target, source, 0.5f)
+			? this.getEnchantmentSnapshot(this.getWeaponStack()).hasKnockbackEffects()
+				? EnchantmentHelper.modifyKnockback(serverWorld, this.getWeaponStack(), target, source, 0.5f)
+				: 0.5f
 			: 0.0F;
 		if (baseKnockback > 0.0) {
 			double resistanceFactor = Math.max(0.0, 1.0 - target.getAttributeValue(net.minecraft.entity.attribute.EntityAttributes.KNOCKBACK_RESISTANCE));
@@ -410,10 +723,14 @@ public class DaggerEntity extends PersistentProjectileEntity implements FlyingIt
 			// This guarantees that the directionality of the velocity does not affect the magnitude calculation,
 			// and the knockback force is always positive in magnitude, regardless of the sign of the velocity components.
 			Vec3d velocity = this.getVelocity();
-			velocity = new Vec3d(velocity.x * Math.abs(velocity.x), velocity.y * Math.abs(velocity.y),velocity.z * Math.abs(velocity.z)).multiply(baseKnockback * resistanceFactor * 0.15f);
-			System.out.println("DaggerEntity knockback length: " + velocity.length());
-			if (velocity.lengthSquared() > 0.0) {
-				target.addVelocity(velocity.x, Math.max(0.05, velocity.y), velocity.z);
+			double scale = baseKnockback * resistanceFactor * 0.15f;
+			Vec3d knockback = new Vec3d(
+				DaggerMotion.knockbackComponent(velocity.x, scale),
+				DaggerMotion.knockbackComponent(velocity.y, scale),
+				DaggerMotion.knockbackComponent(velocity.z, scale));
+			DaggerDiagnostics.trace(DiagnosticCategory.HIT, () -> "DaggerEntity knockback length: " + knockback.length());
+			if (knockback.lengthSquared() > 0.0) {
+				target.addVelocity(knockback.x, Math.max(0.05, knockback.y), knockback.z);
 			}
 		}
 	}
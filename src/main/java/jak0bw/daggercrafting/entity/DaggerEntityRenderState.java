@@ -1,12 +1,23 @@
 package jak0bw.daggercrafting.entity;
 
 import net.minecraft.client.render.entity.state.FlyingItemEntityRenderState;
+import net.minecraft.client.render.item.ItemRenderState;
+import org.joml.Quaternionf;
 
 public class DaggerEntityRenderState extends FlyingItemEntityRenderState {
     public float yaw;
     public float pitch;
     public float seconds;
     public boolean hasHit;
+    /**
+     * Combined rotation of the dagger model, copied from the entity's {@link DaggerRenderCache}.
+     */
+    public final Quaternionf rotation = new Quaternionf();
+    /**
+     * The item state to draw: a shared one for daggers in the ground or beyond the LOD distance, otherwise
+     * {@link #itemRenderState}. See {@link DaggerItemStates}.
+     */
+    public ItemRenderState item = this.itemRenderState;
 
     public DaggerEntityRenderState() {
         super();
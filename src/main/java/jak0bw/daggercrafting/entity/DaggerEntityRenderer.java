@@ -1,36 +1,103 @@
 package jak0bw.daggercrafting.entity;
 
-import net.minecraft.client.render.entity.FlyingItemEntityRenderer;
+import net.minecraft.client.render.entity.EntityRenderer;
 import net.minecraft.client.render.entity.EntityRendererFactory;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.item.ItemModelManager;
+import net.minecraft.client.render.Frustum;
 import net.minecraft.client.render.OverlayTexture;
 import net.minecraft.client.render.VertexConsumerProvider;
-import net.minecraft.client.render.entity.state.FlyingItemEntityRenderState;
+import net.minecraft.client.render.item.ItemRenderState;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.Entity;
+import net.minecraft.component.DataComponentTypes;
 import net.minecraft.entity.FlyingItemEntity;
 import net.minecraft.item.ModelTransformationMode;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.DaggerToolMaterial;
 import jak0bw.daggercrafting.ModItems;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Quaternionf;
 
 @Environment(EnvType.CLIENT)
-public class DaggerEntityRenderer extends FlyingItemEntityRenderer<DaggerEntity> {
+public class DaggerEntityRenderer extends EntityRenderer<DaggerEntity, DaggerEntityRenderState> {
+    private static final float QUARTER_TURN = 90.0f * MathHelper.RADIANS_PER_DEGREE;
+    private static final float ANIMATION_DURATION = 0.3f;
+    private static final double DEFAULT_RENDER_DISTANCE = 128.0;
+    private static final double DEFAULT_LOD_DISTANCE = 48.0;
+    private static final double CULLING_MARGIN = 0.5;
+
     private final ItemModelManager itemModelManager;
+    private final Quaternionf scratchRotation = new Quaternionf();
+    private final ItemStack defaultStack;
+    private final double maxDistanceSquared;
+    private final double lodDistanceSquared;
+    /**
+     * Item states by dagger; lives as long as this renderer, which is recreated on resource reload.
+     */
+    private final DaggerItemStates<Identifier, ItemRenderState> itemStates = new DaggerItemStates<>() {
+        @Override
+        protected ItemRenderState create() {
+            return new ItemRenderState();
+        }
 
-    public DaggerEntityRenderer(EntityRendererFactory.Context context) {
+        @Override
+        protected void resolve(ItemRenderState state, boolean plain) {
+            DaggerEntityRenderer renderer = DaggerEntityRenderer.this;
+            renderer.itemModelManager.updateForNonLivingEntity(state, plain ? renderer.defaultStack : renderer.currentStack,
+                ModelTransformationMode.GROUND, renderer.current);
+        }
+    };
+    // The dagger whose render state is being updated, for itemStates
+    private DaggerEntity current;
+    private ItemStack currentStack;
+
+    /**
+     * @param material The material of the dagger entity type this renderer is registered for.
+     */
+    public DaggerEntityRenderer(EntityRendererFactory.Context context, DaggerToolMaterial material) {
         super(context);
         this.itemModelManager = context.getItemModelManager();
+        this.defaultStack = material.getItem().getDefaultStack();
+        double maxDistance = DaggerCraftingConfig.getDouble("render.distance." + material.getName(), DEFAULT_RENDER_DISTANCE);
+        double lodDistance = DaggerCraftingConfig.getDouble("render.lodDistance", DEFAULT_LOD_DISTANCE);
+        this.maxDistanceSquared = maxDistance * maxDistance;
+        this.lodDistanceSquared = lodDistance * lodDistance;
+    }
+
+    /**
+     * Culls daggers beyond this material's render distance, then applies the vanilla checks (the Entity Distance
+     * setting, the view frustum). A dagger the vanilla frustum check culls is still drawn if its box grown by its
+     * velocity in both directions is visible, so fast daggers whose interpolated position lies between their last
+     * and current position are never culled early.
+     */
+    @Override
+    public boolean shouldRender(DaggerEntity entity, Frustum frustum, double x, double y, double z) {
+        if (entity.squaredDistanceTo(x, y, z) > this.maxDistanceSquared) {
+            return false;
+        }
+        if (super.shouldRender(entity, frustum, x, y, z)) {
+            return true;
+        }
+        Vec3d velocity = entity.getVelocity();
+        if (velocity.lengthSquared() == 0.0 || !entity.shouldRender(x, y, z)) {
+            return false;
+        }
+        return frustum.isVisible(entity.getBoundingBox().expand(
+            Math.abs(velocity.x) + CULLING_MARGIN, Math.abs(velocity.y) + CULLING_MARGIN, Math.abs(velocity.z) + CULLING_MARGIN));
     }
 
     /**
      * Animates from startAngle to endAngle over duration seconds using ease-in/ease-out.
      * After duration, stays at endAngle.
      */
-    private float getAnimatedAngle(float seconds, float startAngle, float endAngle, float duration) {
+    public static float getAnimatedAngle(float seconds, float startAngle, float endAngle, float duration) {
         if (seconds <= 0) return startAngle;
         if (seconds >= duration) return endAngle;
         float t = seconds / duration;
@@ -39,61 +106,73 @@ public class DaggerEntityRenderer extends FlyingItemEntityRenderer<DaggerEntity>
         return startAngle + (endAngle - startAngle) * easeOutT;
     }
 
+    /**
+     * Computes the dagger model rotation: yaw and pitch of the flight direction, followed by the
+     * item's draw animation (70 to 135 degrees over 0.3 seconds) and a quarter turn to point the blade forward.
+     */
+    public static Quaternionf computeRotation(float yaw, float pitch, float seconds, Quaternionf dest, Quaternionf scratch) {
+        dest.rotationYXZ(yaw * MathHelper.RADIANS_PER_DEGREE, -pitch * MathHelper.RADIANS_PER_DEGREE, 0.0f);
+        scratch.rotationXYZ(getAnimatedAngle(seconds, 70, 135, ANIMATION_DURATION) * MathHelper.RADIANS_PER_DEGREE, QUARTER_TURN, 0.0f);
+        return dest.mul(scratch);
+    }
+
     @Override
-    public void render(FlyingItemEntityRenderState flyingItemEntityRenderState, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int i) {
+    public void render(DaggerEntityRenderState daggerState, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int i) {
         matrixStack.push();
-        matrixStack.scale(1.0F, 1.0F, 1.0F);
-        if (flyingItemEntityRenderState instanceof DaggerEntityRenderState daggerState) {
-            // Construct quaternion from yaw, pitch, roll=0
-            org.joml.Quaternionf quaternion = new org.joml.Quaternionf().rotationYXZ(
-                (float)Math.toRadians(daggerState.yaw),
-                (float)Math.toRadians(-daggerState.pitch),
-                0.0f // Roll (Z axis)
-            );
-            matrixStack.multiply(quaternion);
-
-            // Example: animate from 135deg to 405deg (135+270) over 1.5 seconds
-            org.joml.Quaternionf quaternion2 = new org.joml.Quaternionf().rotationXYZ(
-                (float)Math.toRadians(this.getAnimatedAngle(daggerState.seconds,70, 135, 0.3f)),
-                (float)Math.toRadians(90),
-                0.0f
-            );
-            matrixStack.multiply(quaternion2);
-
-        } 
-        flyingItemEntityRenderState.itemRenderState.render(matrixStack, vertexConsumerProvider, i, OverlayTexture.DEFAULT_UV);
+        matrixStack.multiply(daggerState.rotation);
+        daggerState.item.render(matrixStack, vertexConsumerProvider, i, OverlayTexture.DEFAULT_UV);
         matrixStack.pop();
     }
 
-     
     @Override
-    public void updateRenderState(DaggerEntity entity, FlyingItemEntityRenderState flyingItemEntityRenderState, float f) {
-        super.updateRenderState(entity, flyingItemEntityRenderState, f);
-
-        if (!(flyingItemEntityRenderState instanceof DaggerEntityRenderState)) {
-            throw new IllegalStateException("DaggerEntityRenderer: FlyingItemEntityRenderState is not a DaggerEntityRenderState");
-        }
-
-        DaggerEntityRenderState daggerEntityRenderState = (DaggerEntityRenderState) flyingItemEntityRenderState;
+    public void updateRenderState(DaggerEntity entity, DaggerEntityRenderState daggerEntityRenderState, float f) {
+        // Not a FlyingItemEntityRenderer: that would resolve the full item state of every dagger every frame,
+        // even of the ones drawn with a shared state
+        super.updateRenderState(entity, daggerEntityRenderState, f);
         daggerEntityRenderState.yaw = entity.getYaw();
         daggerEntityRenderState.pitch = entity.getPitch();
         daggerEntityRenderState.seconds = entity.seconds;
 
+        // Far daggers are drawn at rest: no draw animation and no glint
+        boolean far = daggerEntityRenderState.squaredDistanceToCamera > this.lodDistanceSquared;
+        float seconds = far ? ANIMATION_DURATION : entity.seconds;
+        // The render state is shared by all daggers of this renderer, so the rotation is cached on the entity
+        // and only recomputed when its yaw, pitch or animation time changed
+        DaggerRenderCache cache = entity.getRenderCache();
+        if (cache.update(entity.getYaw(), entity.getPitch(), seconds)) {
+            computeRotation(entity.getYaw(), entity.getPitch(), seconds, cache.rotation, this.scratchRotation);
+        }
+        daggerEntityRenderState.rotation.set(cache.rotation);
+
         ItemStack stack = entity.getItemStack();
 
         if (stack == null || stack.isEmpty()) 
             throw new IllegalStateException("DaggerEntityRenderer: Stack is null or empty");
-      
-        this.itemModelManager.updateForNonLivingEntity(
-            flyingItemEntityRenderState.itemRenderState, 
-            stack, 
-            ModelTransformationMode.GROUND,
-            entity
-        );
+
+        this.current = entity;
+        this.currentStack = stack;
+        daggerEntityRenderState.item = this.itemStates.select(far, far ? null : this.getGroundedModel(entity, stack),
+            entity.isEnchanted(), daggerEntityRenderState.itemRenderState);
+        this.current = null;
+        this.currentStack = null;
+    }
+
+    /**
+     * Daggers stuck in the ground share their item state with every grounded dagger of the same model and glint,
+     * see {@link GroundedItemCache}. Flying daggers and stacks with custom model data resolve their own state
+     * every frame as usual.
+     * @return The model to share the state of, or null if the dagger needs its own.
+     */
+    @Nullable
+    private Identifier getGroundedModel(DaggerEntity entity, ItemStack stack) {
+        if (!entity.isInGround() || stack.contains(DataComponentTypes.CUSTOM_MODEL_DATA)) {
+            return null;
+        }
+        return stack.get(DataComponentTypes.ITEM_MODEL);
     }
 
     @Override
-    public FlyingItemEntityRenderState createRenderState() {
+    public DaggerEntityRenderState createRenderState() {
         return new DaggerEntityRenderState();
      }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package jak0bw.daggercrafting.entity;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Chooses the item state a dagger is drawn with each frame, see {@link DaggerEntityRenderer}.
+ * Daggers beyond the LOD distance share one state of the material's plain item, daggers in the ground share one
+ * state per model and glint (see {@link GroundedItemCache}), and only the remaining daggers resolve their own
+ * state every frame. Shared states are resolved once, when they are first needed.
+ *
+ * Generic over the model key and the state, with creating and resolving states left to the subclass, so the
+ * benchmarks run the same selection as the renderer without a game instance.
+ * @param <K> The item model key.
+ * @param <S> The render state.
+ */
+public abstract class DaggerItemStates<K, S> {
+    private final GroundedItemCache<K, S> grounded = new GroundedItemCache<>();
+    @Nullable
+    private S far;
+
+    /**
+     * @return A new, unresolved state.
+     */
+    protected abstract S create();
+
+    /**
+     * Resolves the dagger currently being prepared into the given state.
+     * @param plain Whether to resolve the material's plain item without glint instead of the dagger's stack.
+     */
+    protected abstract void resolve(S state, boolean plain);
+
+    /**
+     * @param far Whether the dagger is beyond the LOD distance.
+     * @param groundedModel The item model of a dagger in the ground that can share its state, or null.
+     * @param glint Whether the dagger's stack has a glint.
+     * @param own The dagger's own state, resolved only if no shared state applies.
+     * @return The state to draw the dagger with.
+     */
+    public S select(boolean far, @Nullable K groundedModel, boolean glint, S own) {
+        if (far) {
+            if (this.far == null) {
+                this.far = this.create();
+                this.resolve(this.far, true);
+            }
+            return this.far;
+        }
+        if (groundedModel != null) {
+            S state = this.grounded.get(groundedModel, glint);
+            if (state == null) {
+                state = this.create();
+                this.resolve(state, false);
+                this.grounded.put(groundedModel, glint, state);
+            }
+            return state;
+        }
+        this.resolve(own, false);
+        return own;
+    }
+}
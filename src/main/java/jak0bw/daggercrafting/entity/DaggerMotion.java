@@ -0,0 +1,181 @@
+package jak0bw.daggercrafting.entity;
+
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * Pure, allocation-free math kernels behind {@link DaggerEntity}'s motion, orientation, knockback and
+ * interpolation. They operate on primitive doubles only, so they can be benchmarked and reasoned about
+ * without a game instance.
+ */
+public final class DaggerMotion {
+    /**
+     * Maximum return speed per loyalty level, relative to the material's ranged velocity.
+     */
+    public static final double RETURN_SPEED_MULTIPLIER = 0.15;
+    /**
+     * Return acceleration per tick and loyalty level, relative to the material's ranged velocity.
+     */
+    public static final double RETURN_ACCELERATION_MULTIPLIER = 0.1;
+    /**
+     * Below this speed a returning dagger is considered stationary when predicting its arrival.
+     */
+    public static final double MIN_PREDICTION_SPEED = 0.0001;
+    /**
+     * Within this distance of the owner's eyes a returning dagger stops moving.
+     */
+    public static final double RETURN_ARRIVAL_DISTANCE = 0.01;
+    /**
+     * Gravity applied to a flying dagger each tick, as for all persistent projectiles.
+     */
+    public static final double GRAVITY = 0.05;
+    /**
+     * Velocity multiplier applied each tick. Daggers use the same drag in air and in water.
+     */
+    public static final float DRAG = 0.99F;
+
+    private DaggerMotion() {
+    }
+
+    /**
+     * Computes the speed of a returning dagger for the next tick. The dagger accelerates (or decelerates)
+     * towards a loyalty-scaled top speed, but never overshoots the remaining distance.
+     * @param currentSpeed The current speed in blocks per tick.
+     * @param distance The distance to the owner's eyes.
+     * @param baseSpeed The ranged velocity of the dagger's material.
+     * @param loyaltyLevel The loyalty level.
+     * @return The speed for the next tick.
+     */
+    public static double nextReturnSpeed(double currentSpeed, double distance, double baseSpeed, int loyaltyLevel) {
+        double maxSpeed = Math.min(RETURN_SPEED_MULTIPLIER * baseSpeed * loyaltyLevel, distance);
+        double acceleration = RETURN_ACCELERATION_MULTIPLIER * baseSpeed * loyaltyLevel;
+        if (currentSpeed < maxSpeed) {
+            return Math.min(currentSpeed + acceleration, maxSpeed);
+        } else if (currentSpeed > maxSpeed) {
+            return Math.max(currentSpeed - acceleration, maxSpeed);
+        } else {
+            return maxSpeed;
+        }
+    }
+
+    /**
+     * Fused loyalty return step. From the offset to the owner's eyes it computes, in one pass on primitives,
+     * the velocity for the next tick (pointing at the target, at {@link #nextReturnSpeed} speed) and the
+     * predicted ticks until arrival at that velocity.
+     * @param toTargetX The x offset from the dagger to the owner's eyes.
+     * @param toTargetY The y offset from the dagger to the owner's eyes.
+     * @param toTargetZ The z offset from the dagger to the owner's eyes.
+     * @param distance The length of the offset.
+     * @param currentSpeed The current speed in blocks per tick.
+     * @param baseSpeed The ranged velocity of the dagger's material.
+     * @param loyaltyLevel The loyalty level.
+     * @param velocityOut Receives the new velocity as x, y, z.
+     * @return The predicted number of ticks until the target is reached at the new velocity.
+     */
+    public static double returnStep(double toTargetX, double toTargetY, double toTargetZ, double distance,
+            double currentSpeed, double baseSpeed, int loyaltyLevel, double[] velocityOut) {
+        if (distance < RETURN_ARRIVAL_DISTANCE) {
+            velocityOut[0] = 0.0;
+            velocityOut[1] = 0.0;
+            velocityOut[2] = 0.0;
+            return Double.POSITIVE_INFINITY;
+        }
+        double nextSpeed = nextReturnSpeed(currentSpeed, distance, baseSpeed, loyaltyLevel);
+        // Normalize first, then scale, in the same order as Vec3d.normalize().multiply()
+        double velocityX = toTargetX / distance * nextSpeed;
+        double velocityY = toTargetY / distance * nextSpeed;
+        double velocityZ = toTargetZ / distance * nextSpeed;
+        velocityOut[0] = velocityX;
+        velocityOut[1] = velocityY;
+        velocityOut[2] = velocityZ;
+        return timeToTarget(distance, Math.sqrt(velocityX * velocityX + velocityY * velocityY + velocityZ * velocityZ));
+    }
+
+    /**
+     * Advances a flying dagger by one tick the way the projectile physics do: move by the velocity,
+     * then apply drag, then gravity. Block and entity collisions are not considered.
+     * @param state The dagger state as {x, y, z, velocityX, velocityY, velocityZ}, updated in place.
+     * @param gravity The gravity to apply, 0 for daggers that ignore it (e.g. returning, no-clip daggers).
+     */
+    public static void ballisticStep(double[] state, double gravity) {
+        state[0] += state[3];
+        state[1] += state[4];
+        state[2] += state[5];
+        state[3] *= DRAG;
+        state[4] = state[4] * DRAG - gravity;
+        state[5] *= DRAG;
+    }
+
+    /**
+     * Computes the launch velocity of a thrown dagger the way {@code ProjectileEntity.setVelocity} does for a
+     * shooter's rotation, without divergence and before the shooter's own movement is added.
+     * @param pitch The shooter's pitch in degrees.
+     * @param yaw The shooter's yaw in degrees.
+     * @param speed The launch speed in blocks per tick.
+     * @param velocityOut Receives the velocity as x, y, z.
+     */
+    public static void launchVelocity(float pitch, float yaw, double speed, double[] velocityOut) {
+        float pitchRadians = pitch * MathHelper.RADIANS_PER_DEGREE;
+        float yawRadians = yaw * MathHelper.RADIANS_PER_DEGREE;
+        double directionX = -MathHelper.sin(yawRadians) * MathHelper.cos(pitchRadians);
+        double directionY = -MathHelper.sin(pitchRadians);
+        double directionZ = MathHelper.cos(yawRadians) * MathHelper.cos(pitchRadians);
+        // Normalize first, then scale, in the same order as Vec3d.normalize().multiply()
+        double length = Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ);
+        velocityOut[0] = directionX / length * speed;
+        velocityOut[1] = directionY / length * speed;
+        velocityOut[2] = directionZ / length * speed;
+    }
+
+    /**
+     * @param distance The distance to the target.
+     * @param speed The current speed in blocks per tick.
+     * @return The predicted number of ticks until the target is reached, or infinity if not moving.
+     */
+    public static double timeToTarget(double distance, double speed) {
+        if (speed < MIN_PREDICTION_SPEED) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distance / speed;
+    }
+
+    /**
+     * @return The yaw in degrees of a dagger flying with the given horizontal velocity.
+     */
+    public static float yawDegrees(double velocityX, double velocityZ) {
+        return (float) Math.toDegrees(MathHelper.atan2(velocityX, velocityZ));
+    }
+
+    /**
+     * @return The pitch in degrees of a dagger flying with the given velocity.
+     */
+    public static float pitchDegrees(double velocityX, double velocityY, double velocityZ) {
+        return (float) Math.toDegrees(MathHelper.atan2(velocityY, Math.sqrt(velocityX * velocityX + velocityZ * velocityZ)));
+    }
+
+    /**
+     * Computes one component of the knockback vector. Knockback scales with the square of the velocity,
+     * keeping the sign of the component.
+     * @param velocity The velocity component.
+     * @param scale The knockback strength, resistance and base multiplier combined.
+     * @return The knockback component.
+     */
+    public static double knockbackComponent(double velocity, double scale) {
+        return velocity * Math.abs(velocity) * scale;
+    }
+
+    /**
+     * Scales the client interpolation steps inversely with velocity, so fast daggers respond to position
+     * updates sooner. At 2 blocks/tick the steps are halved, at 4 blocks/tick quartered and so on.
+     * @param interpolationSteps The interpolation steps requested by the position update.
+     * @param velocitySquared The squared velocity of the dagger.
+     * @return The interpolation steps to use, at least 1.
+     */
+    public static int interpolationSteps(int interpolationSteps, double velocitySquared) {
+        double velocity = Math.sqrt(velocitySquared);
+        if (velocity > 1.0) {
+            double reductionFactor = Math.max(1.0, velocity);
+            return Math.max(1, (int) (interpolationSteps / reductionFactor));
+        }
+        return interpolationSteps;
+    }
+}
@@ -0,0 +1,267 @@
+package jak0bw.daggercrafting.entity;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.debug.DaggerDiagnostics;
+import jak0bw.daggercrafting.debug.DiagnosticCategory;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.SpawnReason;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the number of daggers stuck in the ground bounded in every world.
+ *
+ * Grounded daggers with Loyalty never age out (see {@link DaggerEntity#age()}), so without a limit they pile up
+ * in loaded chunks and are ticked forever. Daggers register here when they land. Every few seconds each world
+ * is checked:
+ * <ul>
+ *     <li>Daggers that have been idle in the ground for a long time with no player nearby are saved into a
+ *     record attached to their chunk and removed, so they cost nothing per tick. They are spawned again from
+ *     the record once a player comes near the chunk.</li>
+ *     <li>If a chunk or the whole world still has more grounded daggers than allowed, the ones that have been
+ *     in the ground the longest are expired: dropped as items if they could be picked up, removed otherwise.</li>
+ * </ul>
+ *
+ * All methods are called from the server thread only.
+ */
+public final class DaggerPopulationManager {
+    /**
+     * Saved daggers of a chunk, as full entity NBT.
+     */
+    public static final AttachmentType<List<NbtCompound>> STORED_DAGGERS = AttachmentRegistry.createPersistent(
+        Identifier.of(DaggerCrafting.MOD_ID, "stored_daggers"), NbtCompound.CODEC.listOf());
+
+    private static final int CHECK_INTERVAL_TICKS = 100;
+    private static final Comparator<DaggerEntity> OLDEST_FIRST = Comparator.comparingInt(DaggerEntity::getInGroundTime).reversed();
+    private static final Map<ServerWorld, DaggerPopulationManager> BY_WORLD = new IdentityHashMap<>();
+
+    private static boolean enabled = true;
+    private static int maxPerChunk = 32;
+    private static int maxPerWorld = 1024;
+    private static int idleTicks = 6000;
+    private static double restoreDistance = 32.0;
+
+    private final ServerWorld world;
+    private final ReferenceOpenHashSet<DaggerEntity> grounded = new ReferenceOpenHashSet<>();
+    /**
+     * Loaded chunks with saved daggers, as packed chunk positions.
+     */
+    private final LongSet storedChunks = new LongOpenHashSet();
+
+    private DaggerPopulationManager(ServerWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Reads the population limits and registers the tick, chunk and entity listeners.
+     * Should be called during mod initialization.
+     */
+    public static void register() {
+        enabled = DaggerCraftingConfig.getBoolean("population.enabled", true);
+        maxPerChunk = DaggerCraftingConfig.getInt("population.maxPerChunk", 32);
+        maxPerWorld = DaggerCraftingConfig.getInt("population.maxPerWorld", 1024);
+        idleTicks = DaggerCraftingConfig.getInt("population.idleTicks", 6000);
+        restoreDistance = DaggerCraftingConfig.getDouble("population.restoreDistance", 32.0);
+        if (!enabled) {
+            return;
+        }
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            if (world.getTime() % CHECK_INTERVAL_TICKS == 0) {
+                of(world).check();
+            }
+        });
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            if (chunk.hasAttached(STORED_DAGGERS)) {
+                of(world).storedChunks.add(chunk.getPos().toLong());
+            }
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            DaggerPopulationManager manager = BY_WORLD.get(world);
+            if (manager != null) {
+                manager.storedChunks.remove(chunk.getPos().toLong());
+            }
+        });
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof DaggerEntity dagger && dagger.populationTracked) {
+                DaggerPopulationManager manager = BY_WORLD.get(world);
+                if (manager != null) {
+                    manager.grounded.remove(dagger);
+                }
+                dagger.populationTracked = false;
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> BY_WORLD.clear());
+    }
+
+    /**
+     * Registers a dagger that just landed. Called by the dagger itself, once per landing.
+     */
+    static void track(DaggerEntity dagger, ServerWorld world) {
+        if (enabled) {
+            of(world).grounded.add(dagger);
+            dagger.populationTracked = true;
+        }
+    }
+
+    /**
+     * @return The number of grounded daggers currently tracked in the world.
+     */
+    public static int getGroundedCount(ServerWorld world) {
+        DaggerPopulationManager manager = BY_WORLD.get(world);
+        return manager == null ? 0 : manager.grounded.size();
+    }
+
+    private static DaggerPopulationManager of(ServerWorld world) {
+        return BY_WORLD.computeIfAbsent(world, DaggerPopulationManager::new);
+    }
+
+    private void check() {
+        this.restoreNearPlayers();
+
+        Long2ObjectOpenHashMap<List<DaggerEntity>> byChunk = new Long2ObjectOpenHashMap<>();
+        List<DaggerEntity> remaining = new ObjectArrayList<>(this.grounded.size());
+        int stored = 0;
+        for (ObjectIterator<DaggerEntity> iterator = this.grounded.iterator(); iterator.hasNext(); ) {
+            DaggerEntity dagger = iterator.next();
+            if (dagger.isRemoved() || !dagger.isInGround()) {
+                // Picked up, returning or knocked loose; it registers again when it lands
+                iterator.remove();
+                dagger.populationTracked = false;
+                continue;
+            }
+            if (dagger.getInGroundTime() >= idleTicks
+                && !this.world.isPlayerInRange(dagger.getX(), dagger.getY(), dagger.getZ(), restoreDistance)
+                && this.store(dagger)) {
+                iterator.remove();
+                stored++;
+                continue;
+            }
+            byChunk.computeIfAbsent(dagger.getChunkPos().toLong(), key -> new ArrayList<>()).add(dagger);
+            remaining.add(dagger);
+        }
+
+        int expired = 0;
+        for (List<DaggerEntity> chunkDaggers : byChunk.values()) {
+            if (chunkDaggers.size() > maxPerChunk) {
+                expired += this.expireOldest(chunkDaggers, maxPerChunk);
+            }
+        }
+        if (this.grounded.size() > maxPerWorld) {
+            expired += this.expireOldest(remaining, maxPerWorld);
+        }
+
+        if (stored > 0 || expired > 0) {
+            int storedCount = stored;
+            int expiredCount = expired;
+            DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "Grounded daggers in " + this.world.getRegistryKey().getValue()
+                + ": " + this.grounded.size() + " live, " + storedCount + " stored, " + expiredCount + " expired");
+        }
+    }
+
+    /**
+     * Expires the daggers that have been in the ground longest until at most {@code limit} of them are left alive.
+     * @return The number of expired daggers.
+     */
+    private int expireOldest(List<DaggerEntity> daggers, int limit) {
+        int alive = 0;
+        PriorityQueue<DaggerEntity> queue = new PriorityQueue<>(OLDEST_FIRST);
+        for (DaggerEntity dagger : daggers) {
+            // Daggers already expired by the per-chunk limit don't count against the world limit
+            if (!dagger.isRemoved()) {
+                queue.add(dagger);
+                alive++;
+            }
+        }
+        int expired = 0;
+        while (alive - expired > limit) {
+            DaggerEntity dagger = queue.poll();
+            this.grounded.remove(dagger);
+            dagger.populationTracked = false;
+            dagger.expire(this.world);
+            expired++;
+        }
+        return expired;
+    }
+
+    /**
+     * Saves a dagger into its chunk's record and removes the entity.
+     * @return True if the dagger was stored.
+     */
+    private boolean store(DaggerEntity dagger) {
+        NbtCompound nbt = new NbtCompound();
+        if (!dagger.saveNbt(nbt)) {
+            return false;
+        }
+        WorldChunk chunk = this.world.getWorldChunk(dagger.getBlockPos());
+        List<NbtCompound> records = new ArrayList<>(chunk.getAttachedOrElse(STORED_DAGGERS, List.of()));
+        records.add(nbt);
+        chunk.setAttached(STORED_DAGGERS, records);
+        this.storedChunks.add(chunk.getPos().toLong());
+        dagger.populationTracked = false;
+        dagger.discard();
+        return true;
+    }
+
+    /**
+     * Spawns the saved daggers of every loaded chunk a player has come near.
+     */
+    private void restoreNearPlayers() {
+        if (this.storedChunks.isEmpty()) {
+            return;
+        }
+        List<ServerPlayerEntity> players = this.world.getPlayers();
+        double range = restoreDistance + 8.0;
+        double rangeSquared = range * range;
+        for (LongIterator iterator = this.storedChunks.iterator(); iterator.hasNext(); ) {
+            long packed = iterator.nextLong();
+            ChunkPos pos = new ChunkPos(packed);
+            double centerX = pos.getCenterX();
+            double centerZ = pos.getCenterZ();
+            for (ServerPlayerEntity player : players) {
+                double dx = player.getX() - centerX;
+                double dz = player.getZ() - centerZ;
+                if (dx * dx + dz * dz <= rangeSquared) {
+                    iterator.remove();
+                    this.restore(this.world.getChunk(pos.x, pos.z));
+                    break;
+                }
+            }
+        }
+    }
+
+    private void restore(WorldChunk chunk) {
+        List<NbtCompound> records = chunk.removeAttached(STORED_DAGGERS);
+        if (records == null) {
+            return;
+        }
+        for (NbtCompound nbt : records) {
+            EntityType.getEntityFromNbt(nbt, this.world, SpawnReason.LOAD).ifPresent(this.world::spawnEntity);
+        }
+        DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "Restored " + records.size() + " stored daggers in chunk " + chunk.getPos());
+    }
+}
@@ -0,0 +1,31 @@
+package jak0bw.daggercrafting.entity;
+
+import org.joml.Quaternionf;
+
+/**
+ * Per-dagger cache of render-side values that only change when the dagger moves, see {@link DaggerEntityRenderer}.
+ * Created lazily on the client; server-side daggers never allocate one.
+ */
+public final class DaggerRenderCache {
+    /**
+     * The combined yaw/pitch and item animation rotation for the last yaw, pitch and seconds.
+     */
+    public final Quaternionf rotation = new Quaternionf();
+    private float yaw = Float.NaN;
+    private float pitch = Float.NaN;
+    private float seconds = Float.NaN;
+
+    /**
+     * Records the current yaw, pitch and animation time.
+     * @return True if any of them changed since the last call, meaning {@link #rotation} must be recomputed.
+     */
+    public boolean update(float yaw, float pitch, float seconds) {
+        if (yaw == this.yaw && pitch == this.pitch && seconds == this.seconds) {
+            return false;
+        }
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.seconds = seconds;
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package jak0bw.daggercrafting.entity;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared item render states for daggers stuck in the ground, keyed by item model and glint.
+ * A grounded dagger never moves and its stack never changes, so all grounded daggers with the same model and
+ * glint can render the same resolved state instead of each resolving its own every frame.
+ * Kept separate per glint so lookups don't need to allocate a combined key.
+ * @param <K> The item model key.
+ * @param <S> The render state.
+ */
+public final class GroundedItemCache<K, S> {
+    private final Map<K, S> plain = new HashMap<>();
+    private final Map<K, S> glint = new HashMap<>();
+
+    /**
+     * @return The cached state for the model and glint, or null if there is none yet.
+     */
+    @Nullable
+    public S get(K model, boolean glint) {
+        return (glint ? this.glint : this.plain).get(model);
+    }
+
+    public void put(K model, boolean glint, S state) {
+        (glint ? this.glint : this.plain).put(model, state);
+    }
+
+    public void clear() {
+        this.plain.clear();
+        this.glint.clear();
+    }
+}
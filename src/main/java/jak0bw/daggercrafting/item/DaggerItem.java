@@ -5,7 +5,13 @@ import jak0bw.daggercrafting.ModEntities;
 import jak0bw.daggercrafting.DaggerCrafting;
 import jak0bw.daggercrafting.DaggerToolMaterial;
 import jak0bw.daggercrafting.ModEnchantments;
+import jak0bw.daggercrafting.debug.DaggerDiagnostics;
+import jak0bw.daggercrafting.debug.DiagnosticCategory;
+import jak0bw.daggercrafting.enchantment.DaggerEnchantmentCache;
+import jak0bw.daggercrafting.metrics.DaggerMetrics;
+import jak0bw.daggercrafting.metrics.MetricEvent;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -60,6 +66,10 @@ import net.minecraft.component.type.AttributeModifiersComponent;
 
 public class DaggerItem extends Item implements ProjectileItem {
 	public static final int MIN_DRAW_DURATION = 10;
+	/**
+	 * Ticks a dagger must be charged for before releasing it throws it.
+	 */
+	public static final int MIN_THROW_CHARGE_TICKS = 5;
 	private static final float ATTACK_SPEED = -2.0F;
 
 	private final DaggerToolMaterial material;
@@ -106,8 +116,8 @@ public class DaggerItem extends Item implements ProjectileItem {
 			return daggerItem.getMaterial();
 		}
 		else {
-			System.out.println("getMaterialFromItem failed");
-			return DaggerToolMaterial.DAGGER_TOOL_MATERIALS.get("diamond_dagger"); // fallback to diamond if not a DaggerItem
+			DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "getMaterialFromItem called with non-dagger item " + item);
+			return DaggerToolMaterial.getFallback(); // fallback to diamond if not a DaggerItem
 		}
 	}
 
@@ -116,7 +126,7 @@ public class DaggerItem extends Item implements ProjectileItem {
 	 * @return The DaggerToolMaterial
 	 */
 	public DaggerToolMaterial getMaterial() {
-		return this.material == null ? DaggerToolMaterial.DAGGER_TOOL_MATERIALS.get("diamond_dagger") : this.material;
+		return this.material == null ? DaggerToolMaterial.getFallback() : this.material;
 	}
 
 	
@@ -210,7 +220,7 @@ public class DaggerItem extends Item implements ProjectileItem {
 			
 			// If the dagger was held for less than 10 ticks, it's considered an accidental click
 			// or an insufficient charge. In this case, the throwing action is cancelled.
-			if (chargeTime < 5) {
+			if (chargeTime < MIN_THROW_CHARGE_TICKS) {
 				return false; // Not charged enough, prevent throw or Riptide.
 			} else {
 				if (stack.willBreakNextUse()) {
@@ -231,24 +241,11 @@ public class DaggerItem extends Item implements ProjectileItem {
 						// Daggers lose durability when thrown or used with Riptide, similar to tridents.
 						stack.damage(1, playerEntity);
 						
-						float speed = this.material.getRangedVelocity();
-
-						// Get the level of the throwing speed enchantment
-						Identifier throwingSpeedId = Identifier.of(DaggerCrafting.MOD_ID, "throwing_speed");
-						RegistryEntry<Enchantment> throwingSpeedEnchantment = serverWorld.getRegistryManager()
-							.getOrThrow(RegistryKeys.ENCHANTMENT)
-							.getEntry(throwingSpeedId)
-							.orElse(null);
-						
-						int throwingSpeedLevel = throwingSpeedEnchantment != null ? EnchantmentHelper.getLevel(throwingSpeedEnchantment, stack) : 0;
-						System.out.println("throwingSpeedLevel: " + throwingSpeedLevel);
-
-						if (throwingSpeedLevel > 0) {
-							float multiplier = 1.5f;
-							multiplier += (throwingSpeedLevel - 1) * 0.25f;
-							speed *= multiplier;
-							// No cap - let the synchronization system handle any speed dynamically
-						}
+						// Scale the throw by the Throwing Speed enchantment, resolved through the per-registry cache.
+						// No cap - let the synchronization system handle any speed dynamically
+						float multiplier = DaggerEnchantmentCache.of(serverWorld).getThrowSpeedMultiplier(stack);
+						float speed = this.material.getRangedVelocity() * multiplier;
+						DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "throwSpeedMultiplier: " + multiplier);
 
 
 						float heightOffset = 0.2f;
@@ -256,8 +253,12 @@ public class DaggerItem extends Item implements ProjectileItem {
 						// playerEntity.setPosition(playerEntity.getX(), playerEntity.getY() + heightOffset, playerEntity.getZ());
 						// playerEntity.setPitch(playerEntity.getPitch() - pitchOffset);
 
+						long spawnStart = DaggerMetrics.isEnabled() ? System.nanoTime() : 0L;
 						DaggerEntity daggerEntity = (DaggerEntity)(DaggerEntity.spawnWithVelocity(DaggerEntity::new, serverWorld, stack, playerEntity, 0.0F, speed, 0.0F));
-						System.out.println("DaggerItem onStoppedUsing daggerEntity: " + daggerEntity.getItemStack()); // Debug print for the thrown dagger
+						if (DaggerMetrics.isEnabled()) {
+							DaggerMetrics.record(MetricEvent.SPAWN, this.material.getOrdinal(), System.nanoTime() - spawnStart);
+						}
+						DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "DaggerItem onStoppedUsing daggerEntity: " + daggerEntity.getItemStack());
 
 						// playerEntity.setPitch(playerEntity.getPitch() + pitchOffset);
 						// playerEntity.setPosition(playerEntity.getX(), playerEntity.getY() - heightOffset, playerEntity.getZ());
@@ -281,6 +282,65 @@ public class DaggerItem extends Item implements ProjectileItem {
 		return false; 
 	}
 
+	/**
+	 * Throws a volley of daggers from a single stack, like a multishot crossbow.
+	 *
+	 * Everything that is the same for every dagger of the volley is resolved once up front: the material,
+	 * the Throwing Speed multiplier, the Loyalty level and the glint. The daggers are all spawned in the same
+	 * tick, so the entity tracker sends their spawn packets together. The volley plays one throw sound, counts
+	 * as one use of the item and costs one point of durability, taken before the daggers are spawned so they
+	 * carry the damaged stack. Like a regular throw, nothing is thrown if that would break the stack.
+	 *
+	 * Only the first dagger can be picked up by survival players; the others are {@code CREATIVE_ONLY} and
+	 * vanish instead of returning to the inventory, so a volley can't duplicate the stack. Removing the thrown
+	 * stack from the inventory is up to the caller.
+	 *
+	 * @param world The world to spawn the daggers in.
+	 * @param owner The entity throwing the volley.
+	 * @param stack The dagger stack being thrown; each dagger carries a single copy of it.
+	 * @param count The number of daggers to throw.
+	 * @param spread How the daggers are spread out.
+	 * @return The spawned daggers, in spread order; empty if the stack would break.
+	 */
+	public List<DaggerEntity> launchVolley(ServerWorld world, LivingEntity owner, ItemStack stack, int count, VolleySpread spread) {
+		List<DaggerEntity> daggers = new ArrayList<>(count);
+		if (count <= 0 || stack.willBreakNextUse()) {
+			return daggers;
+		}
+		if (owner instanceof PlayerEntity player) {
+			player.incrementStat(Stats.USED.getOrCreateStat(this));
+			stack.damage(1, player);
+		} else {
+			stack.damage(1, owner, EquipmentSlot.MAINHAND);
+		}
+
+		DaggerToolMaterial material = this.getMaterial();
+		float speed = material.getRangedVelocity() * DaggerEnchantmentCache.of(world).getThrowSpeedMultiplier(stack);
+		boolean creative = owner instanceof PlayerEntity player && player.isCreative();
+		ItemStack projectileStack = stack.copyWithCount(1);
+
+		// The first dagger resolves the Loyalty level through the regular constructor, the rest reuse it
+		DaggerEntity first = new DaggerEntity(world, owner, projectileStack);
+		byte loyalty = first.getLoyaltyLevel();
+		boolean enchanted = projectileStack.hasGlint();
+		for (int i = 0; i < count; i++) {
+			long spawnStart = DaggerMetrics.isEnabled() ? System.nanoTime() : 0L;
+			DaggerEntity dagger = i == 0 ? first : new DaggerEntity(world, owner, projectileStack, material, loyalty, enchanted);
+			dagger.pickupType = creative || i > 0 ? PickupPermission.CREATIVE_ONLY : PickupPermission.ALLOWED;
+			float yaw = owner.getYaw() + spread.yawOffset(i, count);
+			ProjectileEntity.spawn(dagger, world, projectileStack,
+				entity -> entity.setVelocity(owner, owner.getPitch(), yaw, 0.0F, speed, spread.divergence()));
+			if (DaggerMetrics.isEnabled()) {
+				DaggerMetrics.record(MetricEvent.SPAWN, material.getOrdinal(), System.nanoTime() - spawnStart);
+			}
+			daggers.add(dagger);
+		}
+		DaggerDiagnostics.trace(DiagnosticCategory.SPAWN, () -> "Volley of " + count + " daggers thrown by " + owner.getName().getString() + " at speed " + speed);
+
+		world.playSoundFromEntity((PlayerEntity)null, owner, SoundEvents.ITEM_TRIDENT_THROW.value(), SoundCategory.PLAYERS, 1.0F, 1.0F);
+		return daggers;
+	}
+
 	/**
 	 * This method is called when a player *initiates* using the dagger (e.g., right-clicking).
 	 * Its primary responsibility is to perform initial validation and set up the game state
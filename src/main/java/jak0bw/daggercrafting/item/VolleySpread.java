@@ -0,0 +1,26 @@
+package jak0bw.daggercrafting.item;
+
+/**
+ * Spread pattern of a dagger volley, see {@link DaggerItem#launchVolley}.
+ * Daggers are fanned out evenly in yaw across the arc, centered on the thrower's look direction,
+ * and each is additionally scattered by the divergence like any other projectile's inaccuracy.
+ * @param arcDegrees The total horizontal angle the volley covers.
+ * @param divergence The random inaccuracy applied to each dagger.
+ */
+public record VolleySpread(float arcDegrees, float divergence) {
+    /**
+     * All daggers straight ahead, without inaccuracy.
+     */
+    public static final VolleySpread STRAIGHT = new VolleySpread(0.0F, 0.0F);
+    /**
+     * The spread of a multishot crossbow: 10 degrees to either side.
+     */
+    public static final VolleySpread MULTISHOT = new VolleySpread(20.0F, 1.0F);
+
+    /**
+     * @return The yaw offset in degrees of the dagger with the given index in a volley of the given size.
+     */
+    public float yawOffset(int index, int count) {
+        return count <= 1 ? 0.0F : -this.arcDegrees * 0.5F + this.arcDegrees * index / (count - 1);
+    }
+}
@@ -0,0 +1,232 @@
+package jak0bw.daggercrafting.metrics;
+
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.DaggerToolMaterial;
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters and latency histograms of the dagger subsystem, per {@link MetricEvent} and material.
+ *
+ * Recording is a {@link LongAdder} increment and a {@link LatencyHistogram} update, indexed by material
+ * ordinal, so it is lock-free and allocation-free on the tick thread. It still adds clock reads around the
+ * timed paths, so {@code metrics.enabled} is off by default; while off, recording costs a single static read.
+ * Gauges (live, returning, dormant daggers) are not tracked on the hot path but counted from the worlds when
+ * read. Metrics are shown by {@code /daggerstats}, and optionally written in the
+ * Prometheus text format to {@code metrics.prometheusFile} from a background thread.
+ */
+public final class DaggerMetrics {
+    private static final MetricEvent[] EVENTS = MetricEvent.values();
+
+    private static boolean enabled;
+    private static LongAdder[][] counts = new LongAdder[0][0];
+    private static LatencyHistogram[][] latencies = new LatencyHistogram[0][0];
+    private static List<DaggerToolMaterial> materials = List.of();
+
+    private static Path prometheusFile;
+    private static int prometheusInterval;
+    private static ExecutorService writer;
+    private static int ticks;
+
+    private DaggerMetrics() {
+    }
+
+    /**
+     * Reads the metrics settings, allocates the counters for all registered materials and starts the
+     * Prometheus file dump if configured.
+     * Should be called during mod initialization, after the dagger materials are registered.
+     */
+    public static void register() {
+        enabled = DaggerCraftingConfig.getBoolean("metrics.enabled", false);
+        if (!enabled) {
+            return;
+        }
+        materials = List.copyOf(DaggerToolMaterial.DAGGER_TOOL_MATERIALS.values());
+        counts = new LongAdder[EVENTS.length][materials.size()];
+        latencies = new LatencyHistogram[EVENTS.length][materials.size()];
+        for (int event = 0; event < EVENTS.length; event++) {
+            for (int material = 0; material < materials.size(); material++) {
+                counts[event][material] = new LongAdder();
+                latencies[event][material] = new LatencyHistogram();
+            }
+        }
+
+        String file = DaggerCraftingConfig.getString("metrics.prometheusFile", "");
+        if (!file.isBlank()) {
+            prometheusFile = Path.of(file);
+            prometheusInterval = Math.max(20, DaggerCraftingConfig.getInt("metrics.prometheusInterval", 200));
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "DaggerCrafting Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ServerTickEvents.END_SERVER_TICK.register(server -> {
+                if (++ticks % prometheusInterval == 0) {
+                    dumpPrometheus(server);
+                }
+            });
+            ServerLifecycleEvents.SERVER_STOPPING.register(DaggerMetrics::dumpPrometheus);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one event with its latency.
+     * @param event The event.
+     * @param materialOrdinal The {@link DaggerToolMaterial#getOrdinal() ordinal} of the dagger's material.
+     * @param nanos The latency of the event in nanoseconds.
+     */
+    public static void record(MetricEvent event, int materialOrdinal, long nanos) {
+        if (!enabled || materialOrdinal >= materials.size()) {
+            return;
+        }
+        counts[event.ordinal()][materialOrdinal].increment();
+        latencies[event.ordinal()][materialOrdinal].record(nanos);
+    }
+
+    /**
+     * Clears all counters and histograms.
+     */
+    public static void reset() {
+        for (int event = 0; event < counts.length; event++) {
+            for (int material = 0; material < materials.size(); material++) {
+                counts[event][material].reset();
+                latencies[event][material].reset();
+            }
+        }
+    }
+
+    /**
+     * Counts the live, returning and dormant daggers of each material in all worlds of the server.
+     * Must be called from the server thread.
+     * @return Gauges indexed by {@code [material ordinal][0 = live, 1 = returning, 2 = dormant]}.
+     */
+    public static int[][] countDaggers(MinecraftServer server) {
+        int[][] gauges = new int[materials.size()][3];
+        for (ServerWorld world : server.getWorlds()) {
+            for (Entity entity : world.iterateEntities()) {
+                if (entity instanceof DaggerEntity dagger && dagger.getMaterial().getOrdinal() < gauges.length) {
+                    int[] material = gauges[dagger.getMaterial().getOrdinal()];
+                    material[0]++;
+                    if (dagger.isReturning()) {
+                        material[1]++;
+                    }
+                    if (dagger.isDormant()) {
+                        material[2]++;
+                    }
+                }
+            }
+        }
+        return gauges;
+    }
+
+    /**
+     * Formats the metrics of each material as chat lines for {@code /daggerstats}.
+     * Must be called from the server thread.
+     */
+    public static List<String> describe(MinecraftServer server) {
+        List<String> lines = new ArrayList<>();
+        if (!enabled) {
+            lines.add("Dagger metrics are disabled, set metrics.enabled=true in config/daggercrafting.properties to record them.");
+            return lines;
+        }
+        int[][] gauges = countDaggers(server);
+        for (int material = 0; material < materials.size(); material++) {
+            lines.add(materials.get(material).getName() + ": " + gauges[material][0] + " live, "
+                + gauges[material][1] + " returning, " + gauges[material][2] + " dormant");
+            for (MetricEvent event : EVENTS) {
+                long count = counts[event.ordinal()][material].sum();
+                if (count == 0L) {
+                    continue;
+                }
+                LatencyHistogram histogram = latencies[event.ordinal()][material];
+                long[] buckets = histogram.snapshot();
+                lines.add(String.format(Locale.ROOT, "  %s: %d, mean %s, p50 %s, p99 %s, max %s", event.getName(), count,
+                    formatNanos(histogram.getTotalNanos() / count), formatNanos(LatencyHistogram.quantile(buckets, 0.5)),
+                    formatNanos(LatencyHistogram.quantile(buckets, 0.99)), formatNanos(LatencyHistogram.quantile(buckets, 1.0))));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Counts the gauges on the server thread, then formats and writes the Prometheus file on the writer thread.
+     */
+    private static void dumpPrometheus(MinecraftServer server) {
+        int[][] gauges = countDaggers(server);
+        writer.execute(() -> writePrometheus(gauges));
+    }
+
+    private static void writePrometheus(int[][] gauges) {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP daggercrafting_daggers Daggers currently in loaded worlds.\n");
+        out.append("# TYPE daggercrafting_daggers gauge\n");
+        String[] states = {"live", "returning", "dormant"};
+        for (int material = 0; material < materials.size(); material++) {
+            for (int state = 0; state < states.length; state++) {
+                out.append("daggercrafting_daggers{material=\"").append(materials.get(material).getName())
+                    .append("\",state=\"").append(states[state]).append("\"} ").append(gauges[material][state]).append('\n');
+            }
+        }
+        out.append("# HELP daggercrafting_event_seconds Latency of dagger events.\n");
+        out.append("# TYPE daggercrafting_event_seconds summary\n");
+        double[] quantiles = {0.5, 0.9, 0.99, 1.0};
+        for (MetricEvent event : EVENTS) {
+            for (int material = 0; material < materials.size(); material++) {
+                String labels = "event=\"" + event.getName() + "\",material=\"" + materials.get(material).getName() + "\"";
+                LatencyHistogram histogram = latencies[event.ordinal()][material];
+                long[] buckets = histogram.snapshot();
+                for (double quantile : quantiles) {
+                    out.append("daggercrafting_event_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(LatencyHistogram.quantile(buckets, quantile) / 1.0e9).append('\n');
+                }
+                out.append("daggercrafting_event_seconds_sum{").append(labels).append("} ").append(histogram.getTotalNanos() / 1.0e9).append('\n');
+                out.append("daggercrafting_event_seconds_count{").append(labels).append("} ").append(counts[event.ordinal()][material].sum()).append('\n');
+            }
+        }
+
+        // Write next to the target and move it in place, so scrapers never read a partial file
+        Path temp = prometheusFile.resolveSibling(prometheusFile.getFileName() + ".tmp");
+        try {
+            if (prometheusFile.getParent() != null) {
+                Files.createDirectories(prometheusFile.getParent());
+            }
+            try (Writer file = Files.newBufferedWriter(temp)) {
+                file.write(out.toString());
+            }
+            Files.move(temp, prometheusFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            DaggerCrafting.LOGGER.warn("Failed to write dagger metrics to {}", prometheusFile, e);
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000L) {
+            return nanos + " ns";
+        }
+        if (nanos < 1_000_000L) {
+            return String.format(Locale.ROOT, "%.1f µs", nanos / 1.0e3);
+        }
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1.0e6);
+    }
+}
@@ -0,0 +1,109 @@
+package jak0bw.daggercrafting.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with logarithmic buckets, in the style of an HDR histogram.
+ *
+ * Every power of two is split into {@link #SUB_BUCKETS} linear sub-buckets, so a recorded value lands in a bucket
+ * at most 12.5% wider than the value itself, over the whole range of {@code long} nanoseconds. Recording is a
+ * bucket index computation and two atomic adds, without allocation or locking, so it can run on the tick thread.
+ * Reads may see a recording half applied, which is fine for monitoring.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * Values below {@link #SUB_BUCKETS} get a bucket each; every power of two from there up to 2^62 gets
+     * {@link #SUB_BUCKETS} buckets.
+     */
+    static final int BUCKET_COUNT = (Long.SIZE - 1 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Records one value.
+     * @param nanos The latency in nanoseconds; negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        this.buckets.incrementAndGet(bucketIndex(value));
+        this.totalNanos.add(value);
+    }
+
+    /**
+     * @return A copy of the bucket counts.
+     */
+    public long[] snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+        }
+        return counts;
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets.set(i, 0L);
+        }
+        this.totalNanos.reset();
+    }
+
+    /**
+     * @param counts Bucket counts from {@link #snapshot()}.
+     * @param fraction The quantile, between 0 and 1.
+     * @return The upper bound in nanoseconds of the bucket holding the quantile, or 0 if there are no values.
+     */
+    public static long quantile(long[] counts, double fraction) {
+        long total = 0L;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(fraction * total));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return The smallest value that falls into the given bucket.
+     */
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @return The largest value that falls into the given bucket.
+     */
+    static long upperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
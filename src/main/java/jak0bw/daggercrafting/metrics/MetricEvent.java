@@ -0,0 +1,35 @@
+package jak0bw.daggercrafting.metrics;
+
+/**
+ * Dagger events recorded by {@link DaggerMetrics}, each with a count and a latency histogram per material.
+ */
+public enum MetricEvent {
+    /**
+     * A thrown dagger spawned into the world; the latency covers creating and spawning the entity.
+     */
+    SPAWN("spawn"),
+    /**
+     * A full (non-dormant) server tick of a dagger.
+     */
+    TICK("tick"),
+    /**
+     * A dagger hitting an entity, including damage, enchantment effects and knockback.
+     */
+    HIT("hit"),
+    /**
+     * One tick of Loyalty return motion.
+     */
+    RETURN("return"),
+    /**
+     * An extra update forced by the sync policy; the latency covers the decision and sending it.
+     */
+    SYNC("sync");
+
+    private final String name;
+
+    MetricEvent(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return this.name; }
+}
@@ -1,5 +1,6 @@
 package jak0bw.daggercrafting.mixin;
 
+import jak0bw.daggercrafting.enchantment.EnchantmentCompatibilityIndex;
 import jak0bw.daggercrafting.item.DaggerItem;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.item.ItemStack;
@@ -15,42 +16,20 @@ public class EnchantmentMixin {
             Enchantment self,
             ItemStack stack,
             CallbackInfoReturnable<Boolean> cir,
-            String[] validEnchantments,
-            String logContext
+            int usage
     ) {
-        if (!(stack.getItem() instanceof DaggerItem)) {
-            return;
-        }
-        String enchantmentString = self.toString().toLowerCase();
-        System.out.println("Checking enchantment: " + enchantmentString + " for dagger (" + logContext + ")");
-        for (String valid : validEnchantments) {
-            if (enchantmentString.contains(valid)) {
-                System.out.println("ALLOWING " + valid.toUpperCase() + " ON DAGGER! (" + logContext + ")");
-                cir.setReturnValue(true);
-                break;
-            }
+        if (stack.getItem() instanceof DaggerItem && EnchantmentCompatibilityIndex.allows(self, usage)) {
+            cir.setReturnValue(true);
         }
     }
 
     @Inject(method = "isAcceptableItem", at = @At("HEAD"), cancellable = true)
     private void allowEnchantmentOnAnvil(ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
-        shouldAllowEnchantment(
-            (Enchantment)(Object)this,
-            stack,
-            cir,
-            new String[]{"flame", "fire aspect", "throwing speed", "loyalty", "unbreaking", "sharpness", "smite", "bane of arthropods", "mending"},
-            "anvil"
-        );
+        shouldAllowEnchantment((Enchantment)(Object)this, stack, cir, EnchantmentCompatibilityIndex.ACCEPTABLE);
     }
 
     @Inject(method = "isPrimaryItem", at = @At("HEAD"), cancellable = true)
     private void allowEnchantmentOnEnchantingTable(ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
-        shouldAllowEnchantment(
-            (Enchantment)(Object)this,
-            stack,
-            cir,
-            new String[]{"flame", "fire aspect", "throwing speed", "loyalty", "unbreaking", "sharpness", "smite", "bane of arthropods"},
-            "enchanting_table"
-        );
+        shouldAllowEnchantment((Enchantment)(Object)this, stack, cir, EnchantmentCompatibilityIndex.PRIMARY);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package jak0bw.daggercrafting.mixin;
+
+import jak0bw.daggercrafting.collision.DaggerCollisionBroadPhase;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Entity.class)
+public class EntityMixin {
+
+    @Inject(method = "setBoundingBox", at = @At("TAIL"))
+    private void updateDaggerBroadPhase(Box boundingBox, CallbackInfo ci) {
+        if (!DaggerCollisionBroadPhase.isTracking()) {
+            return;
+        }
+        Entity self = (Entity)(Object)this;
+        if (self.getWorld() instanceof ServerWorld world) {
+            DaggerCollisionBroadPhase.onBoundingBoxChanged(self, world);
+        }
+    }
+}
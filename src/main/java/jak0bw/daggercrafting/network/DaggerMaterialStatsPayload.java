@@ -0,0 +1,107 @@
+package jak0bw.daggercrafting.network;
+
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.DaggerMaterialStats;
+import jak0bw.daggercrafting.DaggerToolMaterial;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ranged stats of all dagger materials as loaded from the server's data packs, see
+ * {@link jak0bw.daggercrafting.DaggerMaterialLoader}.
+ *
+ * Clients don't load server data packs, so without this their tooltips, Loyalty return prediction and trajectory
+ * preview would use the built-in stats. Sent on join and after every {@code /reload}. Materials are matched by
+ * name, so a client with a different set of materials just keeps the built-in stats of the ones it doesn't share.
+ */
+public record DaggerMaterialStatsPayload(List<Entry> entries) implements CustomPayload {
+    public static final CustomPayload.Id<DaggerMaterialStatsPayload> ID = new CustomPayload.Id<>(Identifier.of(DaggerCrafting.MOD_ID, "material_stats"));
+    public static final PacketCodec<RegistryByteBuf, DaggerMaterialStatsPayload> CODEC = PacketCodec.of(DaggerMaterialStatsPayload::write, DaggerMaterialStatsPayload::read);
+
+    /**
+     * The ranged stats of one material.
+     */
+    public record Entry(String name, float rangedDamage, float rangedVelocity) {
+    }
+
+    /**
+     * Creates the payload from the current stats of all materials.
+     */
+    public static DaggerMaterialStatsPayload current() {
+        List<Entry> entries = new ArrayList<>(DaggerToolMaterial.DAGGER_TOOL_MATERIALS.size());
+        for (DaggerToolMaterial material : DaggerToolMaterial.DAGGER_TOOL_MATERIALS.values()) {
+            DaggerMaterialStats stats = material.getStats();
+            entries.add(new Entry(material.getName(), stats.rangedDamage(), stats.rangedVelocity()));
+        }
+        return new DaggerMaterialStatsPayload(entries);
+    }
+
+    /**
+     * Sends the current stats to one player, e.g. when they join.
+     */
+    public static void send(ServerPlayerEntity player) {
+        if (ServerPlayNetworking.canSend(player, ID)) {
+            ServerPlayNetworking.send(player, current());
+        }
+    }
+
+    /**
+     * Sends the current stats to every player on the server, e.g. after a data pack reload.
+     */
+    public static void sendToAll(MinecraftServer server) {
+        DaggerMaterialStatsPayload payload = current();
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            if (ServerPlayNetworking.canSend(player, ID)) {
+                ServerPlayNetworking.send(player, payload);
+            }
+        }
+    }
+
+    /**
+     * Takes over the received stats and republishes the {@link jak0bw.daggercrafting.DaggerMaterialTable}.
+     * Called on the client thread.
+     */
+    public void apply() {
+        for (Entry entry : this.entries) {
+            DaggerToolMaterial material = DaggerToolMaterial.DAGGER_TOOL_MATERIALS.get(entry.name());
+            if (material == null) {
+                continue;
+            }
+            DaggerMaterialStats registered = material.getRegisteredStats();
+            material.setStats(new DaggerMaterialStats(entry.rangedDamage(), entry.rangedVelocity(),
+                registered.attackDamage(), registered.miningSpeed(), registered.durability(), registered.enchantability()));
+        }
+        DaggerToolMaterial.publishStats();
+    }
+
+    private static DaggerMaterialStatsPayload read(RegistryByteBuf buf) {
+        int size = buf.readVarInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(buf.readString(), buf.readFloat(), buf.readFloat()));
+        }
+        return new DaggerMaterialStatsPayload(entries);
+    }
+
+    private void write(RegistryByteBuf buf) {
+        buf.writeVarInt(this.entries.size());
+        for (Entry entry : this.entries) {
+            buf.writeString(entry.name());
+            buf.writeFloat(entry.rangedDamage());
+            buf.writeFloat(entry.rangedVelocity());
+        }
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,180 @@
+package jak0bw.daggercrafting.network;
+
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.debug.DaggerDiagnostics;
+import jak0bw.daggercrafting.debug.DiagnosticCategory;
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import jak0bw.daggercrafting.entity.DaggerMotion;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Decides when a flying dagger needs an update on top of the entity tracker's regular interval.
+ *
+ * Clients simulate projectile physics themselves from a {@link DaggerTrajectoryPayload} seed sent at launch,
+ * so a dagger on a ballistic arc needs no further updates. The policy keeps a server-side copy of what the
+ * clients extrapolate from the last seed and only sends a correction once the real position drifts further
+ * than the configured tolerance from it, which happens sooner for fast or curving (e.g. returning) daggers.
+ * Seeds are paid for from a server-wide per-tick packet budget, weighted by the number of players tracking
+ * the dagger; when the budget runs low the tolerance is doubled, and when it runs out seeds are deferred to
+ * the next tick.
+ *
+ * All methods are called from the server thread only.
+ */
+public final class DaggerSyncPolicy {
+    /**
+     * No extra update is needed.
+     */
+    public static final int NO_SYNC = 0;
+    /**
+     * Send a velocity update.
+     */
+    public static final int SYNC_VELOCITY = 1;
+    /**
+     * Send a full position, rotation and velocity update.
+     */
+    public static final int SYNC_FULL = 2;
+    /**
+     * Send a {@link DaggerTrajectoryPayload} seed to the tracking players.
+     */
+    public static final int SYNC_TRAJECTORY = 3;
+
+    /**
+     * Packets sent per tracking player for a trajectory seed.
+     */
+    private static final int PACKETS_PER_SYNC = 1;
+    /**
+     * Squared velocities above which the fixed (non-adaptive) policy forces updates.
+     */
+    private static final double FIXED_VELOCITY_SYNC_THRESHOLD = 2.0;
+    private static final double FIXED_FULL_SYNC_THRESHOLD = 8.0;
+    private static final int STATS_LOG_INTERVAL_TICKS = 1200;
+
+    private static boolean adaptive = true;
+    private static double tolerance = 0.25;
+    private static int packetBudget = 2048;
+    private static double predictionTolerance = 0.5;
+    private static int remainingBudget;
+    private static int ticks;
+
+    private static long syncsSent;
+    private static long packetsSent;
+    private static long syncsSuppressed;
+    private static long syncsDeferred;
+
+    private DaggerSyncPolicy() {
+    }
+
+    /**
+     * Reads the policy settings, registers the trajectory payload and the per-tick budget reset.
+     * Should be called during mod initialization.
+     */
+    public static void register() {
+        adaptive = DaggerCraftingConfig.getBoolean("sync.adaptive", true);
+        tolerance = DaggerCraftingConfig.getDouble("sync.tolerance", 0.25);
+        packetBudget = DaggerCraftingConfig.getInt("sync.packetBudget", 2048);
+        predictionTolerance = DaggerCraftingConfig.getDouble("sync.predictionTolerance", 0.5);
+        remainingBudget = packetBudget;
+        PayloadTypeRegistry.playS2C().register(DaggerTrajectoryPayload.ID, DaggerTrajectoryPayload.CODEC);
+        ServerTickEvents.START_SERVER_TICK.register(server -> {
+            remainingBudget = packetBudget;
+            if (++ticks % STATS_LOG_INTERVAL_TICKS == 0) {
+                DaggerDiagnostics.trace(DiagnosticCategory.SYNC, () -> "Dagger syncs sent: " + syncsSent + ", packets sent: " + packetsSent
+                    + ", suppressed: " + syncsSuppressed + ", deferred: " + syncsDeferred);
+            }
+        });
+    }
+
+    /**
+     * Updates the prediction of a dagger after its tick and decides whether it needs an extra update.
+     * @param dagger The dagger, after its movement for this tick.
+     * @param state The dagger's sync state.
+     * @return {@link #NO_SYNC}, {@link #SYNC_VELOCITY} or {@link #SYNC_FULL} with the adaptive policy disabled,
+     * {@link #NO_SYNC} or {@link #SYNC_TRAJECTORY} otherwise.
+     */
+    public static int update(DaggerEntity dagger, DaggerSyncState state) {
+        Vec3d position = dagger.getPos();
+        Vec3d velocity = dagger.getVelocity();
+        double velocitySquared = velocity.lengthSquared();
+        if (!adaptive) {
+            return velocitySquared > FIXED_FULL_SYNC_THRESHOLD ? SYNC_FULL
+                : velocitySquared > FIXED_VELOCITY_SYNC_THRESHOLD ? SYNC_VELOCITY
+                : NO_SYNC;
+        }
+        if (dagger.isInGround()) {
+            // Landed daggers don't move; the tracker's regular updates are enough
+            state.clear();
+            return NO_SYNC;
+        }
+        if (!state.seeded) {
+            // First flying tick: give the clients an exact launch seed to simulate from
+            return trySync(dagger, state, position, velocity);
+        }
+
+        double[] predicted = state.predicted;
+        DaggerMotion.ballisticStep(predicted, dagger.isNoClip() ? 0.0 : DaggerMotion.GRAVITY);
+        double dx = position.x - predicted[0];
+        double dy = position.y - predicted[1];
+        double dz = position.z - predicted[2];
+        double errorSquared = dx * dx + dy * dy + dz * dz;
+        double allowedError = remainingBudget < packetBudget / 4 ? tolerance * 2.0 : tolerance;
+        if (errorSquared <= allowedError * allowedError) {
+            if (velocitySquared > FIXED_VELOCITY_SYNC_THRESHOLD) {
+                syncsSuppressed++;
+            }
+            return NO_SYNC;
+        }
+        return trySync(dagger, state, position, velocity);
+    }
+
+    /**
+     * Sends a player that starts tracking a flying dagger mid-flight the seed the other players got earlier.
+     * The new seed is the dagger's current state, which is within the tolerance of the shared prediction, so the
+     * prediction doesn't change. Not limited by the budget: without a seed the player would see the dagger snap
+     * to every tracker update. Daggers that haven't been seeded yet get their launch seed on their next tick.
+     */
+    public static void startTracking(DaggerEntity dagger, DaggerSyncState state, ServerPlayerEntity player) {
+        if (!adaptive || !state.seeded || dagger.isInGround()) {
+            return;
+        }
+        if (DaggerTrajectoryPayload.sendTo(dagger, player)) {
+            packetsSent += PACKETS_PER_SYNC;
+        }
+    }
+
+    /**
+     * Sends a seed if the budget allows, weighted by the number of tracking players.
+     */
+    private static int trySync(DaggerEntity dagger, DaggerSyncState state, Vec3d position, Vec3d velocity) {
+        int observers = PlayerLookup.tracking(dagger).size();
+        if (observers == 0) {
+            // Nobody to update; players that start tracking get a seed of their own, see startTracking
+            state.seed(position, velocity);
+            return NO_SYNC;
+        }
+        int cost = observers * PACKETS_PER_SYNC;
+        if (cost > remainingBudget) {
+            syncsDeferred++;
+            return NO_SYNC;
+        }
+        remainingBudget -= cost;
+        syncsSent++;
+        packetsSent += cost;
+        state.seed(position, velocity);
+        return SYNC_TRAJECTORY;
+    }
+
+    /**
+     * Client side: how far a regular tracker update may be from the locally simulated position of a seeded
+     * dagger before the client snaps to it.
+     */
+    public static double getPredictionTolerance() { return predictionTolerance; }
+
+    public static long getSyncsSent() { return syncsSent; }
+    public static long getPacketsSent() { return packetsSent; }
+    public static long getSyncsSuppressed() { return syncsSuppressed; }
+    public static long getSyncsDeferred() { return syncsDeferred; }
+}
@@ -0,0 +1,39 @@
+package jak0bw.daggercrafting.network;
+
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Per-dagger state of {@link DaggerSyncPolicy}: where the tracking clients are expected to see the dagger,
+ * extrapolated from the last position and velocity they received.
+ */
+public final class DaggerSyncState {
+    /**
+     * Predicted client-side state as {x, y, z, velocityX, velocityY, velocityZ}.
+     */
+    final double[] predicted = new double[6];
+    /**
+     * Whether the prediction has been seeded since the dagger started flying.
+     */
+    boolean seeded;
+
+    /**
+     * Seeds the prediction with the state the clients have just been sent. Velocities are rounded to
+     * floats, like in {@link DaggerTrajectoryPayload}.
+     */
+    void seed(Vec3d position, Vec3d velocity) {
+        this.predicted[0] = position.x;
+        this.predicted[1] = position.y;
+        this.predicted[2] = position.z;
+        this.predicted[3] = (float) velocity.x;
+        this.predicted[4] = (float) velocity.y;
+        this.predicted[5] = (float) velocity.z;
+        this.seeded = true;
+    }
+
+    /**
+     * Drops the prediction, e.g. once the dagger lands; it is seeded again when it flies.
+     */
+    void clear() {
+        this.seeded = false;
+    }
+}
@@ -0,0 +1,79 @@
+package jak0bw.daggercrafting.network;
+
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Compact trajectory seed for a flying dagger: its exact position and velocity at the end of a server tick.
+ * Sent once at launch and then only as a correction when {@link DaggerSyncPolicy} sees the clients' prediction
+ * drift. Clients simulate the dagger from the seed instead of snapping to every regular tracker update.
+ *
+ * Unlike the vanilla spawn and velocity packets, the velocity is not clamped to 3.9 blocks per tick, so
+ * daggers thrown with high Throwing Speed levels are predicted correctly. It is sent as floats, which is
+ * why the server-side prediction is seeded with float-rounded velocities as well.
+ */
+public record DaggerTrajectoryPayload(int entityId, double x, double y, double z, float velocityX, float velocityY, float velocityZ) implements CustomPayload {
+    public static final CustomPayload.Id<DaggerTrajectoryPayload> ID = new CustomPayload.Id<>(Identifier.of(DaggerCrafting.MOD_ID, "trajectory"));
+    public static final PacketCodec<RegistryByteBuf, DaggerTrajectoryPayload> CODEC = PacketCodec.of(DaggerTrajectoryPayload::write, DaggerTrajectoryPayload::read);
+
+    /**
+     * Creates the seed for the current state of a dagger.
+     */
+    public static DaggerTrajectoryPayload of(DaggerEntity dagger) {
+        Vec3d velocity = dagger.getVelocity();
+        return new DaggerTrajectoryPayload(dagger.getId(), dagger.getX(), dagger.getY(), dagger.getZ(),
+            (float) velocity.x, (float) velocity.y, (float) velocity.z);
+    }
+
+    /**
+     * Sends the seed for the current state of a dagger to every player tracking it.
+     */
+    public static void sendToTracking(DaggerEntity dagger) {
+        DaggerTrajectoryPayload payload = of(dagger);
+        for (ServerPlayerEntity player : PlayerLookup.tracking(dagger)) {
+            if (ServerPlayNetworking.canSend(player, ID)) {
+                ServerPlayNetworking.send(player, payload);
+            }
+        }
+    }
+
+    /**
+     * Sends the seed for the current state of a dagger to one player, e.g. one that just started tracking it.
+     * @return True if the player can receive the seed and it was sent.
+     */
+    public static boolean sendTo(DaggerEntity dagger, ServerPlayerEntity player) {
+        if (!ServerPlayNetworking.canSend(player, ID)) {
+            return false;
+        }
+        ServerPlayNetworking.send(player, of(dagger));
+        return true;
+    }
+
+    private static DaggerTrajectoryPayload read(RegistryByteBuf buf) {
+        return new DaggerTrajectoryPayload(buf.readVarInt(), buf.readDouble(), buf.readDouble(), buf.readDouble(),
+            buf.readFloat(), buf.readFloat(), buf.readFloat());
+    }
+
+    private void write(RegistryByteBuf buf) {
+        buf.writeVarInt(this.entityId);
+        buf.writeDouble(this.x);
+        buf.writeDouble(this.y);
+        buf.writeDouble(this.z);
+        buf.writeFloat(this.velocityX);
+        buf.writeFloat(this.velocityY);
+        buf.writeFloat(this.velocityZ);
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,25 @@
+package jak0bw.daggercrafting.preview;
+
+/**
+ * A predicted dagger arc in a fixed-size, reused point buffer. Written by the preview worker and read by the
+ * render thread, handed over through {@link TrajectoryPreview}'s triple buffering, never both at once.
+ */
+final class TrajectoryArc {
+    /**
+     * Points as x, y, z triples in world coordinates: the launch position, then one per tick of flight.
+     */
+    final double[] points;
+    int count;
+    /**
+     * The charge session the arc was computed for.
+     */
+    long session;
+    /**
+     * Increases with every completed arc, so readers can tell a new arc from a reused buffer.
+     */
+    long sequence;
+
+    TrajectoryArc(int maxPoints) {
+        this.points = new double[maxPoints * 3];
+    }
+}
@@ -0,0 +1,350 @@
+package jak0bw.daggercrafting.preview;
+
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.enchantment.DaggerEnchantmentCache;
+import jak0bw.daggercrafting.entity.DaggerMotion;
+import jak0bw.daggercrafting.item.DaggerItem;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
+import net.minecraft.world.World;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Client side: shows the predicted flight arc of a dagger while it is being charged.
+ *
+ * Each charge session owns a cancellable job on a single background worker. The render thread only samples the
+ * throw inputs (launch position, rotation, the material's ranged velocity times the Throwing Speed multiplier)
+ * and submits a new job when one of them moved by more than an epsilon; the worker runs the same ballistic
+ * kernel the server's motion model uses, tick by tick, into one of three reused point buffers. Completed arcs
+ * are published through a volatile reference, and a newer request or the end of the session makes a running
+ * job stop early. The render thread draws the latest completed arc, cut off at the first block it hits. That
+ * raycast has to run on the client thread, since only it may read the world, so it is spread over frames: a new
+ * arc is copied and checked a few segments per frame, and the previous cut-off stays on screen until it is done.
+ *
+ * Charging does not change the throw speed, only whether releasing throws at all, so it only changes the arc's
+ * color. Entities in the way are not accounted for.
+ */
+public final class TrajectoryPreview {
+    private static final double POSITION_EPSILON = 1.0e-3;
+    private static final float ANGLE_EPSILON = 0.05F;
+    private static final double SPEED_EPSILON = 1.0e-4;
+    /**
+     * Points computed between checks whether the job was cancelled or superseded.
+     */
+    private static final int CANCEL_CHECK_INTERVAL = 16;
+    /**
+     * Arc segments raycast against blocks per frame.
+     */
+    private static final int HIT_CHECK_BUDGET = 8;
+    private static final int CHARGING_COLOR = 0xFF909090;
+    private static final int READY_COLOR = 0xFFFFFFFF;
+
+    private static int maxPoints = 100;
+    private static ExecutorService worker;
+
+    // Triple buffering between the worker and the render thread
+    private static TrajectoryArc[] buffers;
+    private static volatile TrajectoryArc latest;
+    private static volatile TrajectoryArc reading;
+    private static long sequence;
+    private static final double[] workerState = new double[6];
+
+    // Render thread only
+    private static Session session;
+    private static long nextSessionId;
+    private static final double[] launchVelocity = new double[3];
+    private static double[] hitCheckPoints;
+    private static int hitCheckCount;
+    /**
+     * The next segment to raycast, or 0 while no hit check is running.
+     */
+    private static int hitCheckIndex;
+    private static long hitCheckSequence = -1L;
+    private static Vec3d hitCheckFrom;
+    /**
+     * The arc the last completed hit check was for, and its result.
+     */
+    private static long checkedSequence = -1L;
+    private static int visiblePoints;
+    private static Vec3d hitPos;
+
+    private TrajectoryPreview() {
+    }
+
+    /**
+     * A charge session: from starting to use a dagger until releasing or switching away from it.
+     */
+    private static final class Session {
+        final long id;
+        volatile boolean cancelled;
+        /**
+         * The latest requested job; older jobs see that they were superseded and stop.
+         */
+        volatile long generation;
+        double x = Double.NaN, y, z;
+        float pitch, yaw;
+        double speed;
+
+        Session(long id) {
+            this.id = id;
+        }
+
+        boolean isCurrent(long generation) {
+            return !this.cancelled && this.generation == generation;
+        }
+    }
+
+    /**
+     * Reads the preview settings and registers the renderer.
+     * Should be called during client initialization.
+     */
+    public static void register() {
+        if (!DaggerCraftingConfig.getBoolean("preview.enabled", true)) {
+            return;
+        }
+        maxPoints = Math.max(2, DaggerCraftingConfig.getInt("preview.ticks", 100) + 1);
+        buffers = new TrajectoryArc[] {new TrajectoryArc(maxPoints), new TrajectoryArc(maxPoints), new TrajectoryArc(maxPoints)};
+        hitCheckPoints = new double[maxPoints * 3];
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DaggerCrafting Trajectory Preview");
+            thread.setDaemon(true);
+            return thread;
+        });
+        WorldRenderEvents.AFTER_ENTITIES.register(TrajectoryPreview::render);
+    }
+
+    private static void render(WorldRenderContext context) {
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        ItemStack stack = player != null && player.isUsingItem() ? player.getActiveItem() : ItemStack.EMPTY;
+        if (!(stack.getItem() instanceof DaggerItem item) || EnchantmentHelper.getTridentSpinAttackStrength(stack, player) > 0.0F) {
+            endSession();
+            return;
+        }
+        if (session == null) {
+            session = new Session(nextSessionId++);
+        }
+
+        float tickDelta = context.tickCounter().getTickDelta(true);
+        Vec3d pos = player.getLerpedPos(tickDelta);
+        double speed = item.getMaterial().getRangedVelocity() * DaggerEnchantmentCache.of(player.getWorld()).getThrowSpeedMultiplier(stack);
+        request(session, pos.x, pos.y + player.getStandingEyeHeight() - 0.1, pos.z, player.getPitch(tickDelta), player.getYaw(tickDelta),
+            speed, player.getVelocity(), player.isOnGround(), player.getWorld().getBottomY());
+
+        TrajectoryArc arc = acquire();
+        if (arc != null && arc.session == session.id) {
+            draw(context, player, arc, player.getItemUseTime() >= DaggerItem.MIN_THROW_CHARGE_TICKS ? READY_COLOR : CHARGING_COLOR);
+        }
+        reading = null;
+    }
+
+    /**
+     * Submits a new job if the throw inputs changed by more than the epsilons since the last one.
+     */
+    private static void request(Session current, double x, double y, double z, float pitch, float yaw, double speed,
+                                Vec3d shooterVelocity, boolean onGround, int bottomY) {
+        if (Math.abs(x - current.x) < POSITION_EPSILON && Math.abs(y - current.y) < POSITION_EPSILON
+            && Math.abs(z - current.z) < POSITION_EPSILON && Math.abs(pitch - current.pitch) < ANGLE_EPSILON
+            && Math.abs(yaw - current.yaw) < ANGLE_EPSILON && Math.abs(speed - current.speed) < SPEED_EPSILON) {
+            return;
+        }
+        current.x = x;
+        current.y = y;
+        current.z = z;
+        current.pitch = pitch;
+        current.yaw = yaw;
+        current.speed = speed;
+
+        // The thrower's own movement is added to the launch velocity, vertically only while airborne
+        DaggerMotion.launchVelocity(pitch, yaw, speed, launchVelocity);
+        double velocityX = launchVelocity[0] + shooterVelocity.x;
+        double velocityY = launchVelocity[1] + (onGround ? 0.0 : shooterVelocity.y);
+        double velocityZ = launchVelocity[2] + shooterVelocity.z;
+        long generation = ++current.generation;
+        worker.execute(() -> compute(current, generation, x, y, z, velocityX, velocityY, velocityZ, bottomY));
+    }
+
+    /**
+     * Worker thread: simulates the arc into a free buffer and publishes it, unless the job is cancelled first.
+     */
+    private static void compute(Session current, long generation, double x, double y, double z,
+                                double velocityX, double velocityY, double velocityZ, int bottomY) {
+        if (!current.isCurrent(generation)) {
+            return;
+        }
+        TrajectoryArc arc = freeBuffer();
+        double[] state = workerState;
+        state[0] = x;
+        state[1] = y;
+        state[2] = z;
+        state[3] = velocityX;
+        state[4] = velocityY;
+        state[5] = velocityZ;
+        double[] points = arc.points;
+        points[0] = x;
+        points[1] = y;
+        points[2] = z;
+        int count = 1;
+        while (count < maxPoints && state[1] >= bottomY) {
+            if (count % CANCEL_CHECK_INTERVAL == 0 && !current.isCurrent(generation)) {
+                return;
+            }
+            DaggerMotion.ballisticStep(state, DaggerMotion.GRAVITY);
+            points[count * 3] = state[0];
+            points[count * 3 + 1] = state[1];
+            points[count * 3 + 2] = state[2];
+            count++;
+        }
+        if (!current.isCurrent(generation)) {
+            return;
+        }
+        arc.count = count;
+        arc.session = current.id;
+        arc.sequence = ++sequence;
+        latest = arc;
+    }
+
+    /**
+     * Worker thread: a buffer that is neither the latest arc nor being read by the render thread.
+     */
+    private static TrajectoryArc freeBuffer() {
+        TrajectoryArc published = latest;
+        TrajectoryArc read = reading;
+        for (TrajectoryArc buffer : buffers) {
+            if (buffer != published && buffer != read) {
+                return buffer;
+            }
+        }
+        throw new IllegalStateException("No free trajectory buffer");
+    }
+
+    /**
+     * Render thread: marks the latest arc as being read, so the worker doesn't reuse its buffer meanwhile.
+     * Retries if a new arc was published in between, since the worker may not have seen the mark.
+     */
+    private static TrajectoryArc acquire() {
+        TrajectoryArc arc;
+        do {
+            arc = latest;
+            reading = arc;
+        } while (arc != latest);
+        return arc;
+    }
+
+    private static void endSession() {
+        if (session != null) {
+            session.cancelled = true;
+            session = null;
+            latest = null;
+            hitCheckIndex = 0;
+            hitCheckSequence = -1L;
+            checkedSequence = -1L;
+            visiblePoints = 0;
+            hitPos = null;
+        }
+    }
+
+    private static void draw(WorldRenderContext context, ClientPlayerEntity player, TrajectoryArc arc, int color) {
+        MatrixStack matrices = context.matrixStack();
+        VertexConsumerProvider consumers = context.consumers();
+        if (matrices == null || consumers == null) {
+            return;
+        }
+        double[] points = arc.points;
+        if (hitCheckIndex == 0 && arc.sequence != hitCheckSequence) {
+            startHitCheck(arc);
+        }
+        if (hitCheckIndex > 0) {
+            continueHitCheck(player.getWorld(), player);
+        }
+        // Until the check of a newer arc is done, it is cut off where the last checked one was, or where the
+        // first check of the session has got to so far
+        int visible = Math.min(checkedSequence < 0L ? hitCheckIndex : visiblePoints, arc.count);
+        Vec3d end = arc.sequence == checkedSequence ? hitPos : null;
+
+        Vec3d camera = context.camera().getPos();
+        MatrixStack.Entry entry = matrices.peek();
+        VertexConsumer lines = consumers.getBuffer(RenderLayer.getLines());
+        for (int i = 1; i < visible; i++) {
+            double endX = points[i * 3], endY = points[i * 3 + 1], endZ = points[i * 3 + 2];
+            if (i == visible - 1 && end != null) {
+                endX = end.x;
+                endY = end.y;
+                endZ = end.z;
+            }
+            line(lines, entry, points[i * 3 - 3] - camera.x, points[i * 3 - 2] - camera.y, points[i * 3 - 1] - camera.z,
+                endX - camera.x, endY - camera.y, endZ - camera.z, color);
+        }
+    }
+
+    /**
+     * Starts looking for the first block an arc runs into, on a copy of its points, since the worker may reuse
+     * the arc's buffer before the check is done.
+     */
+    private static void startHitCheck(TrajectoryArc arc) {
+        System.arraycopy(arc.points, 0, hitCheckPoints, 0, arc.count * 3);
+        hitCheckCount = arc.count;
+        hitCheckSequence = arc.sequence;
+        hitCheckFrom = new Vec3d(hitCheckPoints[0], hitCheckPoints[1], hitCheckPoints[2]);
+        hitCheckIndex = 1;
+    }
+
+    /**
+     * Raycasts the next {@link #HIT_CHECK_BUDGET} segments of the arc being checked, and publishes the result
+     * once a block is hit or the whole arc is clear.
+     */
+    private static void continueHitCheck(World world, ClientPlayerEntity player) {
+        double[] points = hitCheckPoints;
+        int end = Math.min(hitCheckCount, hitCheckIndex + HIT_CHECK_BUDGET);
+        for (int i = hitCheckIndex; i < end; i++) {
+            // Each segment starts where the previous one ended, so only its end point is new
+            Vec3d to = new Vec3d(points[i * 3], points[i * 3 + 1], points[i * 3 + 2]);
+            BlockHitResult hit = world.raycast(new RaycastContext(hitCheckFrom, to, RaycastContext.ShapeType.COLLIDER, RaycastContext.FluidHandling.NONE, player));
+            if (hit.getType() != HitResult.Type.MISS) {
+                finishHitCheck(i + 1, hit.getPos());
+                return;
+            }
+            hitCheckFrom = to;
+        }
+        if (end == hitCheckCount) {
+            finishHitCheck(hitCheckCount, null);
+        } else {
+            hitCheckIndex = end;
+        }
+    }
+
+    private static void finishHitCheck(int visible, Vec3d hit) {
+        visiblePoints = visible;
+        hitPos = hit;
+        checkedSequence = hitCheckSequence;
+        hitCheckIndex = 0;
+        hitCheckFrom = null;
+    }
+
+    private static void line(VertexConsumer lines, MatrixStack.Entry entry, double fromX, double fromY, double fromZ,
+                             double toX, double toY, double toZ, int color) {
+        float normalX = (float) (toX - fromX), normalY = (float) (toY - fromY), normalZ = (float) (toZ - fromZ);
+        float length = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+        if (length < 1.0e-6F) {
+            return;
+        }
+        normalX /= length;
+        normalY /= length;
+        normalZ /= length;
+        lines.vertex(entry, (float) fromX, (float) fromY, (float) fromZ).color(color).normal(entry, normalX, normalY, normalZ);
+        lines.vertex(entry, (float) toX, (float) toY, (float) toZ).color(color).normal(entry, normalX, normalY, normalZ);
+    }
+}
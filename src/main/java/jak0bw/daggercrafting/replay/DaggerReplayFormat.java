@@ -0,0 +1,56 @@
+package jak0bw.daggercrafting.replay;
+
+/**
+ * Layout of the dagger replay ring file written by {@link DaggerReplayRecorder} and read by {@code DaggerReplayer}, which
+ * lives in the separate {@code replay} source set.
+ *
+ * The file is a fixed size header followed by {@code capacity} fixed size frames, in big-endian byte order.
+ * Frame number {@code n} is stored in slot {@code n % capacity}, and the header holds the number of frames
+ * written so far, so a reader can tell which slots hold the newest {@code capacity} frames and in which order.
+ * Each frame is the state of one sampled dagger at the end of one server tick.
+ */
+public final class DaggerReplayFormat {
+    public static final int MAGIC = 0x44475250; // "DGRP"
+    public static final int VERSION = 1;
+
+    // Header
+    public static final int HEADER_SIZE = 64;
+    public static final int HEADER_MAGIC = 0;
+    public static final int HEADER_VERSION = 4;
+    public static final int HEADER_FRAME_SIZE = 8;
+    public static final int HEADER_CAPACITY = 12;
+    public static final int HEADER_FRAMES_WRITTEN = 16;
+
+    // Frame
+    public static final int FRAME_SIZE = 104;
+    public static final int WORLD_TIME = 0;
+    public static final int ENTITY_ID = 8;
+    public static final int MATERIAL = 12;
+    public static final int FLAGS = 13;
+    public static final int LOYALTY = 14;
+    public static final int X = 16;
+    public static final int Y = 24;
+    public static final int Z = 32;
+    public static final int VELOCITY_X = 40;
+    public static final int VELOCITY_Y = 48;
+    public static final int VELOCITY_Z = 56;
+    public static final int YAW = 64;
+    public static final int PITCH = 68;
+    public static final int BASE_SPEED = 72;
+    public static final int RETURN_TIMER = 76;
+    public static final int TARGET_X = 80;
+    public static final int TARGET_Y = 88;
+    public static final int TARGET_Z = 96;
+
+    // Frame flags
+    public static final int FLAG_IN_GROUND = 1;
+    public static final int FLAG_DEALT_DAMAGE = 1 << 1;
+    public static final int FLAG_NO_CLIP = 1 << 2;
+    /**
+     * The frame has a Loyalty return target.
+     */
+    public static final int FLAG_HAS_TARGET = 1 << 3;
+
+    private DaggerReplayFormat() {
+    }
+}
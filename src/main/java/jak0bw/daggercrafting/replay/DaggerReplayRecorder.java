@@ -0,0 +1,136 @@
+package jak0bw.daggercrafting.replay;
+
+import jak0bw.daggercrafting.DaggerCrafting;
+import jak0bw.daggercrafting.DaggerCraftingConfig;
+import jak0bw.daggercrafting.DaggerMaterialTable;
+import jak0bw.daggercrafting.entity.DaggerEntity;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.entity.Entity;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the per-tick state of sampled daggers into a memory-mapped ring file, for offline analysis with
+ * {@code DaggerReplayer} from the {@code replay} source set. See {@link DaggerReplayFormat} for the layout.
+ *
+ * Off unless {@code replay.enabled} is set. One in {@code replay.sampleRate} daggers is recorded, chosen by
+ * entity id, so a sampled dagger is recorded on every full tick. Recording a frame is a handful of absolute
+ * puts into the mapped buffer: no allocation, no system call, and the operating system writes the pages back
+ * in the background. The file is recreated on every server start, and keeps the newest {@code replay.capacity}
+ * frames.
+ *
+ * All methods are called from the server thread only.
+ */
+public final class DaggerReplayRecorder {
+    private static int sampleRate = 16;
+    private static int capacity = 65536;
+    private static Path file;
+    private static FileChannel channel;
+    private static MappedByteBuffer buffer;
+    private static long framesWritten;
+
+    private DaggerReplayRecorder() {
+    }
+
+    /**
+     * Reads the replay settings and, if recording is enabled, registers opening and closing the ring file
+     * with the server. Should be called during mod initialization.
+     */
+    public static void register() {
+        if (!DaggerCraftingConfig.getBoolean("replay.enabled", false)) {
+            return;
+        }
+        sampleRate = Math.max(1, DaggerCraftingConfig.getInt("replay.sampleRate", 16));
+        capacity = Math.max(1, DaggerCraftingConfig.getInt("replay.capacity", 65536));
+        file = FabricLoader.getInstance().getGameDir().resolve(DaggerCraftingConfig.getString("replay.file", "daggercrafting-replay.bin"));
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> open());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> close());
+    }
+
+    /**
+     * @return Whether the dagger's state should be recorded this tick.
+     */
+    public static boolean isSampled(Entity dagger) {
+        return buffer != null && Math.floorMod(dagger.getId(), sampleRate) == 0;
+    }
+
+    /**
+     * Records the state of a dagger at the end of its tick. Only call for {@link #isSampled} daggers.
+     */
+    public static void record(DaggerEntity dagger) {
+        MappedByteBuffer out = buffer;
+        int offset = DaggerReplayFormat.HEADER_SIZE + (int) (framesWritten % capacity) * DaggerReplayFormat.FRAME_SIZE;
+        Entity owner = dagger.getOwner();
+        boolean hasTarget = dagger.isReturning() && owner != null;
+        int flags = (dagger.isInGround() ? DaggerReplayFormat.FLAG_IN_GROUND : 0)
+            | (dagger.hasDealtDamage() ? DaggerReplayFormat.FLAG_DEALT_DAMAGE : 0)
+            | (dagger.isNoClip() ? DaggerReplayFormat.FLAG_NO_CLIP : 0)
+            | (hasTarget ? DaggerReplayFormat.FLAG_HAS_TARGET : 0);
+        int material = dagger.getMaterial().getOrdinal();
+
+        out.putLong(offset + DaggerReplayFormat.WORLD_TIME, dagger.getWorld().getTime());
+        out.putInt(offset + DaggerReplayFormat.ENTITY_ID, dagger.getId());
+        out.put(offset + DaggerReplayFormat.MATERIAL, (byte) material);
+        out.put(offset + DaggerReplayFormat.FLAGS, (byte) flags);
+        out.put(offset + DaggerReplayFormat.LOYALTY, dagger.getLoyaltyLevel());
+        out.putDouble(offset + DaggerReplayFormat.X, dagger.getX());
+        out.putDouble(offset + DaggerReplayFormat.Y, dagger.getY());
+        out.putDouble(offset + DaggerReplayFormat.Z, dagger.getZ());
+        out.putDouble(offset + DaggerReplayFormat.VELOCITY_X, dagger.getVelocity().x);
+        out.putDouble(offset + DaggerReplayFormat.VELOCITY_Y, dagger.getVelocity().y);
+        out.putDouble(offset + DaggerReplayFormat.VELOCITY_Z, dagger.getVelocity().z);
+        out.putFloat(offset + DaggerReplayFormat.YAW, dagger.getYaw());
+        out.putFloat(offset + DaggerReplayFormat.PITCH, dagger.getPitch());
+        out.putFloat(offset + DaggerReplayFormat.BASE_SPEED, DaggerMaterialTable.rangedVelocity(material));
+        out.putInt(offset + DaggerReplayFormat.RETURN_TIMER, dagger.returnTimer);
+        out.putDouble(offset + DaggerReplayFormat.TARGET_X, hasTarget ? owner.getX() : 0.0);
+        out.putDouble(offset + DaggerReplayFormat.TARGET_Y, hasTarget ? owner.getEyeY() : 0.0);
+        out.putDouble(offset + DaggerReplayFormat.TARGET_Z, hasTarget ? owner.getZ() : 0.0);
+        framesWritten++;
+        // Published after the frame, so a reader never counts a frame that isn't fully written
+        out.putLong(DaggerReplayFormat.HEADER_FRAMES_WRITTEN, framesWritten);
+    }
+
+    private static void open() {
+        long size = DaggerReplayFormat.HEADER_SIZE + (long) capacity * DaggerReplayFormat.FRAME_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            DaggerCrafting.LOGGER.warn("Dagger replay capacity {} is too large for a single mapping, recording is disabled", capacity);
+            return;
+        }
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(DaggerReplayFormat.HEADER_MAGIC, DaggerReplayFormat.MAGIC);
+            buffer.putInt(DaggerReplayFormat.HEADER_VERSION, DaggerReplayFormat.VERSION);
+            buffer.putInt(DaggerReplayFormat.HEADER_FRAME_SIZE, DaggerReplayFormat.FRAME_SIZE);
+            buffer.putInt(DaggerReplayFormat.HEADER_CAPACITY, capacity);
+            buffer.putLong(DaggerReplayFormat.HEADER_FRAMES_WRITTEN, 0L);
+            framesWritten = 0L;
+            DaggerCrafting.LOGGER.info("Recording one in {} daggers to {}", sampleRate, file);
+        } catch (IOException e) {
+            DaggerCrafting.LOGGER.error("Failed to open dagger replay file {}, recording is disabled", file, e);
+            close();
+        }
+    }
+
+    private static void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                DaggerCrafting.LOGGER.warn("Failed to close dagger replay file {}", file, e);
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package jak0bw.daggercrafting.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One recorded dagger state, as read back from a replay file.
+ *
+ * @param worldTime The world time of the tick the state was recorded at the end of.
+ * @param entityId The dagger's entity id, unique within one server run.
+ * @param material The ordinal of the dagger's material.
+ * @param flags The {@code FLAG_*} bits of {@link DaggerReplayFormat}.
+ * @param loyalty The dagger's Loyalty level.
+ * @param baseSpeed The ranged velocity of the dagger's material at the time.
+ * @param returnTimer The number of ticks the dagger has been returning for.
+ * @param targetX The x coordinate of the owner's eyes, if {@link #hasTarget()}.
+ */
+public record DaggerReplayFrame(
+    long worldTime,
+    int entityId,
+    int material,
+    int flags,
+    int loyalty,
+    double x,
+    double y,
+    double z,
+    double velocityX,
+    double velocityY,
+    double velocityZ,
+    float yaw,
+    float pitch,
+    float baseSpeed,
+    int returnTimer,
+    double targetX,
+    double targetY,
+    double targetZ
+) {
+    /**
+     * Reads the frame at the given absolute offset.
+     */
+    static DaggerReplayFrame read(ByteBuffer buffer, int offset) {
+        return new DaggerReplayFrame(
+            buffer.getLong(offset + DaggerReplayFormat.WORLD_TIME),
+            buffer.getInt(offset + DaggerReplayFormat.ENTITY_ID),
+            Byte.toUnsignedInt(buffer.get(offset + DaggerReplayFormat.MATERIAL)),
+            Byte.toUnsignedInt(buffer.get(offset + DaggerReplayFormat.FLAGS)),
+            buffer.get(offset + DaggerReplayFormat.LOYALTY),
+            buffer.getDouble(offset + DaggerReplayFormat.X),
+            buffer.getDouble(offset + DaggerReplayFormat.Y),
+            buffer.getDouble(offset + DaggerReplayFormat.Z),
+            buffer.getDouble(offset + DaggerReplayFormat.VELOCITY_X),
+            buffer.getDouble(offset + DaggerReplayFormat.VELOCITY_Y),
+            buffer.getDouble(offset + DaggerReplayFormat.VELOCITY_Z),
+            buffer.getFloat(offset + DaggerReplayFormat.YAW),
+            buffer.getFloat(offset + DaggerReplayFormat.PITCH),
+            buffer.getFloat(offset + DaggerReplayFormat.BASE_SPEED),
+            buffer.getInt(offset + DaggerReplayFormat.RETURN_TIMER),
+            buffer.getDouble(offset + DaggerReplayFormat.TARGET_X),
+            buffer.getDouble(offset + DaggerReplayFormat.TARGET_Y),
+            buffer.getDouble(offset + DaggerReplayFormat.TARGET_Z)
+        );
+    }
+
+    public boolean isInGround() { return (this.flags & DaggerReplayFormat.FLAG_IN_GROUND) != 0; }
+    public boolean hasDealtDamage() { return (this.flags & DaggerReplayFormat.FLAG_DEALT_DAMAGE) != 0; }
+    public boolean isNoClip() { return (this.flags & DaggerReplayFormat.FLAG_NO_CLIP) != 0; }
+    public boolean hasTarget() { return (this.flags & DaggerReplayFormat.FLAG_HAS_TARGET) != 0; }
+}
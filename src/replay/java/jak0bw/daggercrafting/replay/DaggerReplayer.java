@@ -0,0 +1,216 @@
+package jak0bw.daggercrafting.replay;
+
+import jak0bw.daggercrafting.entity.DaggerMotion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Offline replayer for files written by {@link DaggerReplayRecorder}. Needs no game instance, only
+ * {@link DaggerMotion}, so it runs headless, e.g. with {@code ./gradlew replayDaggers -PreplayFile=<file>}.
+ *
+ * The frames of each dagger are split into flight segments: runs of consecutive ticks in the air without a
+ * hit. Each segment is re-simulated from its first frame as a seed with the same kernels the client uses to
+ * predict flying daggers, and compared against the recorded server positions in two ways:
+ * <ul>
+ *     <li>Step error: one tick simulated from the previous recorded frame. Anything above rounding noise means
+ *     the server moved the dagger differently from the motion model, e.g. after a physics change.</li>
+ *     <li>Drift: the whole segment simulated from the seed. This is how far a client simulating from a
+ *     trajectory seed would be off, and where it exceeds the sync tolerance the server has to send a
+ *     correction.</li>
+ * </ul>
+ * Block and entity collisions are not simulated, so the ticks where a dagger hits something end a segment.
+ */
+public final class DaggerReplayer {
+    /**
+     * The result of replaying a file.
+     *
+     * @param frames Frames read from the file.
+     * @param daggers Distinct daggers recorded.
+     * @param segments Flight segments re-simulated.
+     * @param steps Ticks compared.
+     * @param maxStepError Largest distance between a one-tick simulation and the recorded position.
+     * @param meanStepError Mean of the step errors.
+     * @param maxDrift Largest distance between a simulation from the segment seed and the recorded position.
+     * @param segmentsOverTolerance Segments whose drift exceeded the tolerance at some tick.
+     * @param worstDaggerId Entity id of the dagger with the largest step error, or -1.
+     * @param worstWorldTime World time of the largest step error.
+     */
+    public record Report(int frames, int daggers, int segments, long steps, double maxStepError, double meanStepError,
+                         double maxDrift, int segmentsOverTolerance, int worstDaggerId, long worstWorldTime) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "%d frames of %d daggers, %d flight segments, %d steps%n"
+                    + "step error: max %.3e (dagger %d at tick %d), mean %.3e%n"
+                    + "drift from seed: max %.4f, %d segments over tolerance",
+                this.frames, this.daggers, this.segments, this.steps, this.maxStepError, this.worstDaggerId,
+                this.worstWorldTime, this.meanStepError, this.maxDrift, this.segmentsOverTolerance);
+        }
+    }
+
+    private DaggerReplayer() {
+    }
+
+    /**
+     * Usage: {@code DaggerReplayer <file> [drift tolerance] [max step error]}.
+     * Prints the report, and exits with status 1 if a maximum step error is given and exceeded.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: DaggerReplayer <file> [drift tolerance, default 0.25] [max step error]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 1 ? Double.parseDouble(args[1]) : 0.25;
+        Report report = replay(readFrames(Path.of(args[0])), tolerance);
+        System.out.println(report);
+        if (args.length > 2 && report.maxStepError() > Double.parseDouble(args[2])) {
+            System.err.println("Step error exceeds " + args[2]);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the frames of a replay file, oldest first.
+     * @throws IOException If the file can't be read or is not a replay file of a supported version.
+     */
+    public static List<DaggerReplayFrame> readFrames(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < DaggerReplayFormat.HEADER_SIZE
+            || buffer.getInt(DaggerReplayFormat.HEADER_MAGIC) != DaggerReplayFormat.MAGIC) {
+            throw new IOException(file + " is not a dagger replay file");
+        }
+        if (buffer.getInt(DaggerReplayFormat.HEADER_VERSION) != DaggerReplayFormat.VERSION
+            || buffer.getInt(DaggerReplayFormat.HEADER_FRAME_SIZE) != DaggerReplayFormat.FRAME_SIZE) {
+            throw new IOException(file + " has unsupported replay version " + buffer.getInt(DaggerReplayFormat.HEADER_VERSION));
+        }
+        int capacity = buffer.getInt(DaggerReplayFormat.HEADER_CAPACITY);
+        long written = buffer.getLong(DaggerReplayFormat.HEADER_FRAMES_WRITTEN);
+        long first = Math.max(0L, written - capacity);
+        List<DaggerReplayFrame> frames = new ArrayList<>((int) (written - first));
+        for (long frame = first; frame < written; frame++) {
+            int offset = DaggerReplayFormat.HEADER_SIZE + (int) (frame % capacity) * DaggerReplayFormat.FRAME_SIZE;
+            frames.add(DaggerReplayFrame.read(buffer, offset));
+        }
+        return frames;
+    }
+
+    /**
+     * Re-simulates the flight segments of the given frames.
+     * @param frames Frames in recording order.
+     * @param tolerance The drift a segment may reach before it counts as over tolerance.
+     */
+    public static Report replay(List<DaggerReplayFrame> frames, double tolerance) {
+        Map<Integer, List<DaggerReplayFrame>> byDagger = new LinkedHashMap<>();
+        for (DaggerReplayFrame frame : frames) {
+            byDagger.computeIfAbsent(frame.entityId(), id -> new ArrayList<>()).add(frame);
+        }
+
+        int segments = 0;
+        int segmentsOverTolerance = 0;
+        long steps = 0L;
+        double stepErrorSum = 0.0;
+        double maxStepError = 0.0;
+        double maxDrift = 0.0;
+        int worstDaggerId = -1;
+        long worstWorldTime = 0L;
+        double[] stepState = new double[6];
+        double[] seedState = new double[6];
+        double[] velocity = new double[3];
+
+        for (List<DaggerReplayFrame> dagger : byDagger.values()) {
+            boolean inSegment = false;
+            boolean overTolerance = false;
+            for (int i = 1; i < dagger.size(); i++) {
+                DaggerReplayFrame previous = dagger.get(i - 1);
+                DaggerReplayFrame next = dagger.get(i);
+                if (!continuesFlight(previous, next)) {
+                    inSegment = false;
+                    continue;
+                }
+                if (!inSegment) {
+                    inSegment = true;
+                    overTolerance = false;
+                    segments++;
+                    load(previous, seedState);
+                }
+                load(previous, stepState);
+                step(stepState, previous, next, velocity);
+                step(seedState, previous, next, velocity);
+
+                double stepError = distance(stepState, next);
+                double drift = distance(seedState, next);
+                steps++;
+                stepErrorSum += stepError;
+                if (stepError > maxStepError) {
+                    maxStepError = stepError;
+                    worstDaggerId = next.entityId();
+                    worstWorldTime = next.worldTime();
+                }
+                maxDrift = Math.max(maxDrift, drift);
+                if (drift > tolerance && !overTolerance) {
+                    overTolerance = true;
+                    segmentsOverTolerance++;
+                }
+            }
+        }
+        return new Report(frames.size(), byDagger.size(), segments, steps, maxStepError,
+            steps == 0L ? 0.0 : stepErrorSum / steps, maxDrift, segmentsOverTolerance, worstDaggerId, worstWorldTime);
+    }
+
+    /**
+     * Whether the tick from {@code previous} to {@code next} is one the motion model covers: consecutive,
+     * airborne at both ends, and without a hit in between.
+     */
+    private static boolean continuesFlight(DaggerReplayFrame previous, DaggerReplayFrame next) {
+        return next.worldTime() == previous.worldTime() + 1
+            && !previous.isInGround() && !next.isInGround()
+            && previous.hasDealtDamage() == next.hasDealtDamage();
+    }
+
+    /**
+     * Advances a simulated state by the tick that led to {@code next}: a Loyalty return step towards the
+     * recorded target if the dagger was returning during that tick, then the ballistic step.
+     */
+    private static void step(double[] state, DaggerReplayFrame previous, DaggerReplayFrame next, double[] velocity) {
+        if (next.hasTarget() && next.returnTimer() > previous.returnTimer()) {
+            double toTargetX = next.targetX() - state[0];
+            double toTargetY = next.targetY() - state[1];
+            double toTargetZ = next.targetZ() - state[2];
+            double distance = Math.sqrt(toTargetX * toTargetX + toTargetY * toTargetY + toTargetZ * toTargetZ);
+            double speed = Math.sqrt(state[3] * state[3] + state[4] * state[4] + state[5] * state[5]);
+            DaggerMotion.returnStep(toTargetX, toTargetY, toTargetZ, distance, speed, next.baseSpeed(), next.loyalty(), velocity);
+            state[3] = velocity[0];
+            state[4] = velocity[1];
+            state[5] = velocity[2];
+        }
+        DaggerMotion.ballisticStep(state, next.isNoClip() ? 0.0 : DaggerMotion.GRAVITY);
+    }
+
+    private static void load(DaggerReplayFrame frame, double[] state) {
+        state[0] = frame.x();
+        state[1] = frame.y();
+        state[2] = frame.z();
+        state[3] = frame.velocityX();
+        state[4] = frame.velocityY();
+        state[5] = frame.velocityZ();
+    }
+
+    private static double distance(double[] state, DaggerReplayFrame frame) {
+        double dx = state[0] - frame.x();
+        double dy = state[1] - frame.y();
+        double dz = state[2] - frame.z();
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,98 @@
+package jak0bw.daggercrafting.entity;
+
+import net.minecraft.util.math.Vec3d;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the fused {@link DaggerMotion#returnStep} kernel gives bit-identical results to the Vec3d based
+ * return motion and arrival prediction it replaced in {@link DaggerEntity}.
+ */
+class DaggerMotionTest {
+    private static final int SAMPLES = 100_000;
+    private static final double[] BASE_SPEEDS = {1.4, 1.6, 1.8, 2.0, 3.7};
+
+    @Test
+    void returnStepMatchesVec3dReturnMotion() {
+        Random random = new Random(42);
+        double[] velocityOut = new double[3];
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            // Mostly far offsets, some within a few blocks, some within the arrival distance
+            double scale = switch (sample % 4) {
+                case 0 -> 0.02;
+                case 1 -> 4.0;
+                default -> 64.0;
+            };
+            Vec3d position = new Vec3d(random.nextDouble() * 256.0 - 128.0, random.nextDouble() * 256.0 - 64.0, random.nextDouble() * 256.0 - 128.0);
+            Vec3d eyePos = position.add((random.nextDouble() * 2.0 - 1.0) * scale, (random.nextDouble() * 2.0 - 1.0) * scale,
+                (random.nextDouble() * 2.0 - 1.0) * scale);
+            Vec3d velocity = new Vec3d(random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 6.0 - 3.0, random.nextDouble() * 6.0 - 3.0)
+                .multiply(random.nextDouble());
+            double baseSpeed = BASE_SPEEDS[random.nextInt(BASE_SPEEDS.length)];
+            int loyalty = 1 + random.nextInt(5);
+
+            Vec3d expectedVelocity = applyLinearReturnMotion(position, eyePos, velocity, baseSpeed, loyalty);
+            double expectedTime = predictTimeToTarget(position, eyePos, expectedVelocity);
+
+            double toTargetX = eyePos.x - position.x;
+            double toTargetY = eyePos.y - position.y;
+            double toTargetZ = eyePos.z - position.z;
+            double distance = Math.sqrt(toTargetX * toTargetX + toTargetY * toTargetY + toTargetZ * toTargetZ);
+            double time = DaggerMotion.returnStep(toTargetX, toTargetY, toTargetZ, distance, velocity.length(), baseSpeed, loyalty, velocityOut);
+
+            String context = "sample " + sample + ": position " + position + ", eyes " + eyePos + ", velocity " + velocity
+                + ", base speed " + baseSpeed + ", loyalty " + loyalty;
+            assertBitsEqual(expectedVelocity.x, velocityOut[0], context + ", velocity x");
+            assertBitsEqual(expectedVelocity.y, velocityOut[1], context + ", velocity y");
+            assertBitsEqual(expectedVelocity.z, velocityOut[2], context + ", velocity z");
+            assertBitsEqual(expectedTime, time, context + ", time to target");
+        }
+    }
+
+    /**
+     * The return motion as {@code DaggerEntity.applyLinearReturnMotion} computed it before the fused kernel,
+     * copied here with its constants so the reference doesn't share code with the kernel under test.
+     */
+    private static Vec3d applyLinearReturnMotion(Vec3d position, Vec3d eyePos, Vec3d velocity, double baseSpeed, int loyaltyLevel) {
+        Vec3d toTarget = eyePos.subtract(position);
+        double distance = toTarget.length();
+        double maxspeed = Math.min(0.15 * baseSpeed * loyaltyLevel, distance);
+        double currentspeed = velocity.length();
+
+        double acceleration = 0.1 * baseSpeed * loyaltyLevel;
+        double nextSpeed;
+        if (currentspeed < maxspeed) {
+            nextSpeed = Math.min(currentspeed + acceleration, maxspeed);
+        } else if (currentspeed > maxspeed) {
+            nextSpeed = Math.max(currentspeed - acceleration, maxspeed);
+        } else {
+            nextSpeed = maxspeed;
+        }
+
+        if (distance < 0.01) {
+            return Vec3d.ZERO;
+        }
+        return toTarget.normalize().multiply(nextSpeed);
+    }
+
+    /**
+     * The arrival prediction as {@code DaggerEntity.predictTimeToTarget} computed it, after the velocity was set.
+     */
+    private static double predictTimeToTarget(Vec3d position, Vec3d eyePos, Vec3d velocity) {
+        Vec3d toTarget = eyePos.subtract(position);
+        double distance = toTarget.length();
+        double speed = velocity.length();
+        if (speed < 0.0001) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distance / speed;
+    }
+
+    private static void assertBitsEqual(double expected, double actual, String message) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+            () -> message + ": expected " + expected + " but was " + actual);
+    }
+}
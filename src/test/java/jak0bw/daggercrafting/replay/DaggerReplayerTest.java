@@ -0,0 +1,164 @@
+package jak0bw.daggercrafting.replay;
+
+import jak0bw.daggercrafting.entity.DaggerMotion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes replay files with frames produced by {@link DaggerMotion}, the same kernels the server moves daggers
+ * with, and checks that {@link DaggerReplayer} reads them back and only sees rounding noise.
+ */
+class DaggerReplayerTest {
+    private static final double MAX_STEP_ERROR = 1e-9;
+    private static final float BASE_SPEED = 1.6F;
+    private static final int LOYALTY = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void motionModelFramesReplayWithoutStepError() throws IOException {
+        List<DaggerReplayFrame> frames = new ArrayList<>();
+        double[] state = {0.5, 64.0, 0.5, 1.2, 0.4, -0.7};
+        // Dagger 1: thrown, hits something, and returns to its owner with Loyalty
+        flight(frames, 1, 0L, state, 41, 0);
+        state[3] = 0.0;
+        state[4] = 0.0;
+        state[5] = 0.0;
+        frames.add(frame(41L, 1, DaggerReplayFormat.FLAG_DEALT_DAMAGE, state, 0, null));
+        returnFlight(frames, 1, 42L, state, new double[]{2.0, 65.62, 3.0}, 30);
+        // Dagger 2: two flights with a gap in between, e.g. while it was out of the sampled ticks
+        flight(frames, 2, 100L, new double[]{-8.0, 70.0, 4.0, -0.3, 0.9, 2.4}, 20, 0);
+        flight(frames, 2, 200L, new double[]{-8.0, 70.0, 4.0, 0.1, 0.2, -3.1}, 20, DaggerReplayFormat.FLAG_NO_CLIP);
+
+        Path file = this.directory.resolve("replay.bin");
+        write(file, frames, 1024);
+        List<DaggerReplayFrame> read = DaggerReplayer.readFrames(file);
+        assertEquals(frames, read);
+
+        DaggerReplayer.Report report = DaggerReplayer.replay(read, 0.25);
+        assertEquals(2, report.daggers());
+        assertEquals(4, report.segments());
+        assertEquals(40 + 30 + 19 + 19, report.steps());
+        assertTrue(report.maxStepError() <= MAX_STEP_ERROR, "step error " + report.maxStepError());
+        assertTrue(report.maxDrift() <= MAX_STEP_ERROR, "drift " + report.maxDrift());
+        assertEquals(0, report.segmentsOverTolerance());
+    }
+
+    @Test
+    void divergingFrameIsReported() throws IOException {
+        List<DaggerReplayFrame> frames = new ArrayList<>();
+        flight(frames, 7, 0L, new double[]{0.0, 80.0, 0.0, 2.0, 0.5, 0.0}, 30, 0);
+        DaggerReplayFrame moved = frames.get(15);
+        frames.set(15, new DaggerReplayFrame(moved.worldTime(), moved.entityId(), moved.material(), moved.flags(),
+            moved.loyalty(), moved.x() + 0.5, moved.y(), moved.z(), moved.velocityX(), moved.velocityY(), moved.velocityZ(),
+            moved.yaw(), moved.pitch(), moved.baseSpeed(), moved.returnTimer(), moved.targetX(), moved.targetY(), moved.targetZ()));
+
+        Path file = this.directory.resolve("replay.bin");
+        write(file, frames, 1024);
+        DaggerReplayer.Report report = DaggerReplayer.replay(DaggerReplayer.readFrames(file), 0.25);
+        assertTrue(report.maxStepError() > 0.25, "step error " + report.maxStepError());
+        assertEquals(7, report.worstDaggerId());
+        assertEquals(1, report.segmentsOverTolerance());
+    }
+
+    @Test
+    void ringKeepsNewestFramesInOrder() throws IOException {
+        List<DaggerReplayFrame> frames = new ArrayList<>();
+        flight(frames, 3, 500L, new double[]{0.0, 64.0, 0.0, 0.7, 0.3, 0.7}, 40, 0);
+
+        Path file = this.directory.resolve("replay.bin");
+        write(file, frames, 16);
+        List<DaggerReplayFrame> read = DaggerReplayer.readFrames(file);
+        assertEquals(frames.subList(24, 40), read);
+
+        DaggerReplayer.Report report = DaggerReplayer.replay(read, 0.25);
+        assertEquals(15, report.steps());
+        assertTrue(report.maxStepError() <= MAX_STEP_ERROR, "step error " + report.maxStepError());
+    }
+
+    /**
+     * Adds {@code count} frames of ballistic flight starting at the given state, advancing the state.
+     */
+    private static void flight(List<DaggerReplayFrame> frames, int entityId, long startTime, double[] state, int count, int flags) {
+        double gravity = (flags & DaggerReplayFormat.FLAG_NO_CLIP) != 0 ? 0.0 : DaggerMotion.GRAVITY;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                DaggerMotion.ballisticStep(state, gravity);
+            }
+            frames.add(frame(startTime + i, entityId, flags, state, 0, null));
+        }
+    }
+
+    /**
+     * Adds {@code count} frames of a Loyalty return towards {@code target}, advancing the state.
+     */
+    private static void returnFlight(List<DaggerReplayFrame> frames, int entityId, long startTime, double[] state, double[] target, int count) {
+        int flags = DaggerReplayFormat.FLAG_DEALT_DAMAGE | DaggerReplayFormat.FLAG_NO_CLIP | DaggerReplayFormat.FLAG_HAS_TARGET;
+        double[] velocity = new double[3];
+        for (int i = 0; i < count; i++) {
+            double toTargetX = target[0] - state[0];
+            double toTargetY = target[1] - state[1];
+            double toTargetZ = target[2] - state[2];
+            double distance = Math.sqrt(toTargetX * toTargetX + toTargetY * toTargetY + toTargetZ * toTargetZ);
+            double speed = Math.sqrt(state[3] * state[3] + state[4] * state[4] + state[5] * state[5]);
+            DaggerMotion.returnStep(toTargetX, toTargetY, toTargetZ, distance, speed, BASE_SPEED, LOYALTY, velocity);
+            state[3] = velocity[0];
+            state[4] = velocity[1];
+            state[5] = velocity[2];
+            DaggerMotion.ballisticStep(state, 0.0);
+            frames.add(frame(startTime + i, entityId, flags, state, i + 1, target));
+        }
+    }
+
+    private static DaggerReplayFrame frame(long worldTime, int entityId, int flags, double[] state, int returnTimer, double[] target) {
+        return new DaggerReplayFrame(worldTime, entityId, 2, flags, LOYALTY, state[0], state[1], state[2], state[3], state[4], state[5],
+            DaggerMotion.yawDegrees(state[3], state[5]), DaggerMotion.pitchDegrees(state[3], state[4], state[5]), BASE_SPEED,
+            returnTimer, target == null ? 0.0 : target[0], target == null ? 0.0 : target[1], target == null ? 0.0 : target[2]);
+    }
+
+    /**
+     * Writes frames to a ring file of the given capacity the way {@link DaggerReplayRecorder} does.
+     */
+    private static void write(Path file, List<DaggerReplayFrame> frames, int capacity) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(DaggerReplayFormat.HEADER_SIZE + capacity * DaggerReplayFormat.FRAME_SIZE);
+        buffer.putInt(DaggerReplayFormat.HEADER_MAGIC, DaggerReplayFormat.MAGIC);
+        buffer.putInt(DaggerReplayFormat.HEADER_VERSION, DaggerReplayFormat.VERSION);
+        buffer.putInt(DaggerReplayFormat.HEADER_FRAME_SIZE, DaggerReplayFormat.FRAME_SIZE);
+        buffer.putInt(DaggerReplayFormat.HEADER_CAPACITY, capacity);
+        for (int n = 0; n < frames.size(); n++) {
+            DaggerReplayFrame frame = frames.get(n);
+            int offset = DaggerReplayFormat.HEADER_SIZE + n % capacity * DaggerReplayFormat.FRAME_SIZE;
+            buffer.putLong(offset + DaggerReplayFormat.WORLD_TIME, frame.worldTime());
+            buffer.putInt(offset + DaggerReplayFormat.ENTITY_ID, frame.entityId());
+            buffer.put(offset + DaggerReplayFormat.MATERIAL, (byte) frame.material());
+            buffer.put(offset + DaggerReplayFormat.FLAGS, (byte) frame.flags());
+            buffer.put(offset + DaggerReplayFormat.LOYALTY, (byte) frame.loyalty());
+            buffer.putDouble(offset + DaggerReplayFormat.X, frame.x());
+            buffer.putDouble(offset + DaggerReplayFormat.Y, frame.y());
+            buffer.putDouble(offset + DaggerReplayFormat.Z, frame.z());
+            buffer.putDouble(offset + DaggerReplayFormat.VELOCITY_X, frame.velocityX());
+            buffer.putDouble(offset + DaggerReplayFormat.VELOCITY_Y, frame.velocityY());
+            buffer.putDouble(offset + DaggerReplayFormat.VELOCITY_Z, frame.velocityZ());
+            buffer.putFloat(offset + DaggerReplayFormat.YAW, frame.yaw());
+            buffer.putFloat(offset + DaggerReplayFormat.PITCH, frame.pitch());
+            buffer.putFloat(offset + DaggerReplayFormat.BASE_SPEED, frame.baseSpeed());
+            buffer.putInt(offset + DaggerReplayFormat.RETURN_TIMER, frame.returnTimer());
+            buffer.putDouble(offset + DaggerReplayFormat.TARGET_X, frame.targetX());
+            buffer.putDouble(offset + DaggerReplayFormat.TARGET_Y, frame.targetY());
+            buffer.putDouble(offset + DaggerReplayFormat.TARGET_Z, frame.targetZ());
+        }
+        buffer.putLong(DaggerReplayFormat.HEADER_FRAMES_WRITTEN, frames.size());
+        Files.write(file, buffer.array());
+    }
+}